@@ -0,0 +1,254 @@
+package com.tapadoo.alerter.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Transformation;
+
+import com.tapadoo.alerter.Alert;
+import com.tapadoo.alerter.AlertLite;
+import com.tapadoo.alerter.AlertPool;
+import com.tapadoo.alerter.AlertQueue;
+import com.tapadoo.alerter.Alerter;
+import com.tapadoo.alerter.AlerterLite;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.IOException;
+
+/**
+ * Cost of the create, show and hide cycle, run on the JVM under Robolectric.
+ * <p>
+ * Robolectric never draws, so animations are stepped to their end by hand and the UI thread's
+ * queue is drained between iterations; hidden Alerts then go back into the pool exactly as they
+ * would on a device. Results are written by {@link BenchmarkReport} once all benchmarks ran.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class AlerterBenchmark {
+
+    private static final int WARMUP = 50;
+
+    private static final int ITERATIONS = 200;
+
+    private static final int SETTLE_ROUNDS = 4;
+
+    private Activity activity;
+
+    private Alerter alerter;
+
+    private Alert alert;
+
+    @Before
+    public void setUp() {
+        AlertQueue.setEnabled(false);
+        AlertPool.clear();
+        AlertPool.setMaxSize(3);
+
+        activity = Robolectric.setupActivity(Activity.class);
+    }
+
+    @After
+    public void tearDown() {
+        dismissAll();
+    }
+
+    @AfterClass
+    public static void afterClass() throws IOException {
+        BenchmarkReport.write();
+    }
+
+    @Test
+    public void alerterCreate() {
+        BenchmarkReport.add(Benchmark.measure("Alerter.create", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void run() {
+                alerter = Alerter.create(activity);
+            }
+
+            @Override
+            void tearDown() {
+                //Shown and hidden, so the next create can recycle it
+                alerter.show();
+                dismissAll();
+            }
+        }));
+    }
+
+    @Test
+    public void alertConstruction() {
+        BenchmarkReport.add(Benchmark.measure("Alert.<init>", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void run() {
+                alert = new Alert(activity);
+            }
+        }));
+    }
+
+    @Test
+    public void alerterShow() {
+        BenchmarkReport.add(Benchmark.measure("Alerter.show", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void setUp() {
+                alerter = Alerter.create(activity).setTitle("Title").setText("Text");
+            }
+
+            @Override
+            void run() {
+                alerter.show();
+            }
+
+            @Override
+            void tearDown() {
+                dismissAll();
+            }
+        }));
+    }
+
+    @Test
+    public void alerterClearCurrent() {
+        BenchmarkReport.add(Benchmark.measure("Alerter.clearCurrent", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void setUp() {
+                showSettled();
+            }
+
+            @Override
+            void run() {
+                Alerter.clearCurrent(activity);
+            }
+
+            @Override
+            void tearDown() {
+                dismissAll();
+            }
+        }));
+    }
+
+    @Test
+    public void alertHide() {
+        BenchmarkReport.add(Benchmark.measure("Alert.hide", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void setUp() {
+                showSettled();
+            }
+
+            @Override
+            void run() {
+                alert.hide();
+            }
+
+            @Override
+            void tearDown() {
+                dismissAll();
+            }
+        }));
+    }
+
+    @Test
+    public void fullCycle() {
+        BenchmarkReport.add(Benchmark.measure("create-show-hide", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void run() {
+                final Alert shown = Alerter.create(activity).setTitle("Title").setText("Text").show();
+                finishAnimation(shown);
+                shown.hide();
+                settle();
+            }
+
+            @Override
+            void tearDown() {
+                dismissAll();
+            }
+        }));
+    }
+
+    @Test
+    public void liteFullCycle() {
+        BenchmarkReport.add(Benchmark.measure("lite-create-show-hide", WARMUP, ITERATIONS, new Benchmark.Operation() {
+            @Override
+            void run() {
+                final AlertLite shown = AlerterLite.create(activity).setTitle("Title").setText("Text").show();
+                finishAnimation(shown);
+                shown.hide();
+                settle();
+            }
+
+            @Override
+            void tearDown() {
+                dismissAll();
+            }
+        }));
+    }
+
+    /* Helpers */
+
+    private void showSettled() {
+        alert = Alerter.create(activity).setTitle("Title").setText("Text").show();
+        finishAnimation(alert);
+    }
+
+    /**
+     * Steps every animation running in the DecorView to its end, then drains the UI thread.
+     */
+    private void settle() {
+        final ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
+
+        for (int round = 0; round < SETTLE_ROUNDS; round++) {
+            for (int i = decorView.getChildCount() - 1; i >= 0; i--) {
+                finishAnimation(decorView.getChildAt(i));
+            }
+
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+    }
+
+    /**
+     * Hides whatever is still showing, and removes anything which refused to leave.
+     */
+    private void dismissAll() {
+        final ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
+
+        for (int i = decorView.getChildCount() - 1; i >= 0; i--) {
+            final View child = decorView.getChildAt(i);
+            if (child instanceof Alert) {
+                ((Alert) child).hide();
+            } else if (child instanceof AlertLite) {
+                ((AlertLite) child).hide();
+            }
+        }
+
+        settle();
+
+        for (int i = decorView.getChildCount() - 1; i >= 0; i--) {
+            final View child = decorView.getChildAt(i);
+            if (child instanceof Alert || child instanceof AlertLite) {
+                decorView.removeViewAt(i);
+            }
+        }
+    }
+
+    private static void finishAnimation(final View view) {
+        final Animation animation = view.getAnimation();
+        if (animation == null || animation.hasEnded()) {
+            return;
+        }
+
+        final Transformation transformation = new Transformation();
+        if (!animation.hasStarted()) {
+            animation.getTransformation(AnimationUtils.currentAnimationTimeMillis(), transformation);
+        }
+
+        animation.getTransformation(animation.getStartTime() + animation.computeDurationHint() + 1, transformation);
+    }
+}
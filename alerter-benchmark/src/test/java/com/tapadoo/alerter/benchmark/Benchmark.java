@@ -0,0 +1,135 @@
+package com.tapadoo.alerter.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Measures the wall time and allocated bytes of a single operation.
+ * <p>
+ * The very first invocation is recorded on its own, as the first-call cost, before the
+ * operation is warmed up and measured repeatedly for its steady state cost. Allocations are
+ * read from the HotSpot per-thread allocation counter, and reported as -1 on VMs without one.
+ */
+final class Benchmark {
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private Benchmark() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Runs an operation once cold, then warmup + iterations times.
+     *
+     * @param name       the name the result is reported under
+     * @param warmup     the number of unmeasured iterations
+     * @param iterations the number of measured iterations
+     * @param operation  the operation
+     * @return the result
+     */
+    static Result measure(final String name, final int warmup, final int iterations, final Operation operation) {
+        final long[] nanos = new long[iterations];
+        final long[] bytes = new long[iterations];
+
+        //First call, before anything is warmed up
+        final long[] first = runOnce(operation);
+
+        for (int i = 0; i < warmup; i++) {
+            runOnce(operation);
+        }
+
+        for (int i = 0; i < iterations; i++) {
+            final long[] sample = runOnce(operation);
+            nanos[i] = sample[0];
+            bytes[i] = sample[1];
+        }
+
+        return new Result(name, first[0], first[1], nanos, bytes);
+    }
+
+    private static long[] runOnce(final Operation operation) {
+        operation.setUp();
+
+        final long startBytes = allocatedBytes();
+        final long startNanos = System.nanoTime();
+
+        operation.run();
+
+        final long endNanos = System.nanoTime();
+        final long endBytes = allocatedBytes();
+
+        operation.tearDown();
+
+        return new long[]{endNanos - startNanos, startBytes < 0 ? -1 : endBytes - startBytes};
+    }
+
+    private static long allocatedBytes() {
+        if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return -1;
+    }
+
+    /**
+     * An operation under measurement. Only {@link #run()} is timed.
+     */
+    abstract static class Operation {
+
+        void setUp() {
+            //Nothing to prepare by default
+        }
+
+        abstract void run();
+
+        void tearDown() {
+            //Nothing to clean up by default
+        }
+    }
+
+    /**
+     * Timings for one operation
+     */
+    static final class Result {
+
+        final String name;
+        final long firstCallNanos;
+        final long firstCallBytes;
+        final int iterations;
+        final long medianNanos;
+        final long meanNanos;
+        final long minNanos;
+        final long medianBytes;
+
+        Result(final String name, final long firstCallNanos, final long firstCallBytes, final long[] nanos, final long[] bytes) {
+            this.name = name;
+            this.firstCallNanos = firstCallNanos;
+            this.firstCallBytes = firstCallBytes;
+            this.iterations = nanos.length;
+
+            Arrays.sort(nanos);
+            Arrays.sort(bytes);
+
+            long total = 0;
+            for (final long sample : nanos) {
+                total += sample;
+            }
+
+            this.medianNanos = nanos.length > 0 ? nanos[nanos.length / 2] : 0;
+            this.meanNanos = nanos.length > 0 ? total / nanos.length : 0;
+            this.minNanos = nanos.length > 0 ? nanos[0] : 0;
+            this.medianBytes = bytes.length > 0 ? bytes[bytes.length / 2] : 0;
+        }
+
+        String toJson() {
+            return "{\"name\":\"" + name + "\""
+                    + ",\"iterations\":" + iterations
+                    + ",\"firstCall\":{\"nanos\":" + firstCallNanos + ",\"bytes\":" + firstCallBytes + "}"
+                    + ",\"steadyState\":{\"medianNanos\":" + medianNanos
+                    + ",\"meanNanos\":" + meanNanos
+                    + ",\"minNanos\":" + minNanos
+                    + ",\"medianBytes\":" + medianBytes + "}}";
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tapadoo.alerter.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects benchmark results and writes them as JSON, to the file named by the
+ * {@code alerter.benchmark.output} system property and to standard out.
+ */
+final class BenchmarkReport {
+
+    private static final String OUTPUT_PROPERTY = "alerter.benchmark.output";
+
+    //Bumped whenever the layout of the report changes
+    private static final int FORMAT_VERSION = 1;
+
+    private static final List<Benchmark.Result> RESULTS = new ArrayList<>();
+
+    private BenchmarkReport() {
+        //Utility classes should not be instantiated
+    }
+
+    static synchronized void add(final Benchmark.Result result) {
+        RESULTS.add(result);
+    }
+
+    static synchronized void write() throws IOException {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\"formatVersion\":").append(FORMAT_VERSION)
+                .append(",\"java\":\"").append(System.getProperty("java.version")).append('"')
+                .append(",\"os\":\"").append(System.getProperty("os.name")).append(' ').append(System.getProperty("os.arch")).append('"')
+                .append(",\"results\":[");
+
+        for (int i = 0; i < RESULTS.size(); i++) {
+            json.append(i > 0 ? ",\n" : "\n").append(RESULTS.get(i).toJson());
+        }
+
+        json.append("\n]}\n");
+
+        System.out.print(json);
+
+        final String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output != null) {
+            final File file = new File(output);
+            if (file.getParentFile() != null && !file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+                throw new IOException("Unable to create " + file.getParent());
+            }
+
+            final Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"));
+            try {
+                writer.write(json.toString());
+            } finally {
+                writer.close();
+            }
+        }
+    }
+}
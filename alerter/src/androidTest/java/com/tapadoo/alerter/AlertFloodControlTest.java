@@ -0,0 +1,70 @@
+package com.tapadoo.alerter;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Alert Flood Control Test Case Class
+ */
+@RunWith(AndroidJUnit4.class)
+public class AlertFloodControlTest {
+
+    private static final long LONG_INTERVAL = 10000;
+
+    private final AtomicInteger shown = new AtomicInteger();
+
+    private final Runnable show = new Runnable() {
+        @Override
+        public void run() {
+            shown.incrementAndGet();
+        }
+    };
+
+    @Before
+    public void setUp() {
+        AlertFloodControl.setInterval(LONG_INTERVAL);
+        AlertFloodControl.resetCounters();
+    }
+
+    @After
+    public void tearDown() {
+        AlertFloodControl.setPolicy(AlertFloodControl.POLICY_NONE);
+        AlertFloodControl.setInterval(500);
+        AlertFloodControl.setBucketCapacity(3);
+    }
+
+    @Test
+    public void testDropNewestShowsFirstOnly() {
+        AlertFloodControl.setPolicy(AlertFloodControl.POLICY_DROP_NEWEST);
+
+        for (int i = 0; i < 5; i++) {
+            AlertFloodControl.offer(show);
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        Assert.assertEquals(1, shown.get());
+        Assert.assertEquals(4, AlertFloodControl.getSuppressedAlertCount());
+    }
+
+    @Test
+    public void testTokenBucketAllowsBurst() {
+        AlertFloodControl.setBucketCapacity(2);
+        AlertFloodControl.setPolicy(AlertFloodControl.POLICY_TOKEN_BUCKET);
+
+        for (int i = 0; i < 5; i++) {
+            AlertFloodControl.offer(show);
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        Assert.assertEquals(2, shown.get());
+        Assert.assertEquals(3, AlertFloodControl.getSuppressedAlertCount());
+    }
+}
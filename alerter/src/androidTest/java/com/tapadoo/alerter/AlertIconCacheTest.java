@@ -0,0 +1,49 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Alert Icon Cache Test Case Class
+ */
+@RunWith(AndroidJUnit4.class)
+public class AlertIconCacheTest {
+
+    private static final int ICON_SIZE = 48;
+
+    @After
+    public void tearDown() {
+        AlertIconCache.clear();
+    }
+
+    @Test
+    public void testOversizedBitmapIsDownsampledAndShared() {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final Bitmap bitmap = Bitmap.createBitmap(ICON_SIZE * 4, ICON_SIZE * 2, Bitmap.Config.ARGB_8888);
+
+        final Drawable first = AlertIconCache.get(context, bitmap, ICON_SIZE);
+        final Drawable second = AlertIconCache.get(context, bitmap, ICON_SIZE);
+
+        final Bitmap scaled = ((BitmapDrawable) first).getBitmap();
+        Assert.assertEquals(ICON_SIZE, scaled.getWidth());
+        Assert.assertEquals(ICON_SIZE / 2, scaled.getHeight());
+
+        //A new drawable each time, drawing the one cached bitmap
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(scaled, ((BitmapDrawable) second).getBitmap());
+    }
+
+    @Test
+    public void testColorFiltersAreShared() {
+        Assert.assertSame(AlertIconCache.colorFilter(0xFFFF0000), AlertIconCache.colorFilter(0xFFFF0000));
+    }
+}
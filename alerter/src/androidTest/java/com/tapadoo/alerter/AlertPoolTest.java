@@ -0,0 +1,134 @@
+package com.tapadoo.alerter;
+
+import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Alert Pool Test Case Class
+ */
+@RunWith(AndroidJUnit4.class)
+public class AlertPoolTest {
+
+    //Rule which sets the Activity to be used
+    @ClassRule
+    public static final ActivityTestRule<MockActivity> activityRule = new ActivityTestRule<>(MockActivity.class, true, false);
+
+    @SuppressLint("StaticFieldLeak")
+    private static Activity mockActivity;
+
+    @BeforeClass // Called once before all tests
+    public static void beforeClass() {
+        //Start our activity
+        activityRule.launchActivity(null);
+
+        //Store a reference to it
+        mockActivity = activityRule.getActivity();
+    }
+
+    @Before // Called before each test
+    public void setUp() {
+        AlertPool.setMaxSize(3);
+    }
+
+    @After // Called after each test
+    public void tearDown() {
+        AlertPool.clear();
+        AlertPool.setMaxSize(0);
+    }
+
+    @Test
+    public void testReleasedAlertIsReused() {
+        final Alert alert = AlertPool.obtain(mockActivity);
+        AlertPool.release(alert);
+
+        Assert.assertEquals(1, AlertPool.size());
+        Assert.assertSame(alert, AlertPool.obtain(mockActivity));
+        Assert.assertEquals(0, AlertPool.size());
+    }
+
+    @Test
+    public void testReleasedAlertIsReset() {
+        final Alert alert = AlertPool.obtain(mockActivity);
+        alert.setTitle("Hello");
+        alert.setText("Hi");
+        alert.setDuration(10000);
+        alert.showIcon(false);
+        alert.disableOutsideTouch();
+
+        AlertPool.release(alert);
+
+        Assert.assertEquals(View.GONE, alert.getTitle().getVisibility());
+        Assert.assertEquals(View.GONE, alert.getText().getVisibility());
+        Assert.assertEquals(View.VISIBLE, alert.getIcon().getVisibility());
+        Assert.assertEquals(3000, alert.getDuration());
+    }
+
+    @Test
+    public void testMaxSize() {
+        AlertPool.setMaxSize(1);
+
+        AlertPool.release(new Alert(mockActivity));
+        AlertPool.release(new Alert(mockActivity));
+        Assert.assertEquals(1, AlertPool.size());
+
+        AlertPool.setMaxSize(0);
+        Assert.assertEquals(0, AlertPool.size());
+    }
+
+    @Test
+    public void testHideDoesNotReachTheNextShow() {
+        final Alert alert = Alerter.create(mockActivity).setText("First").show();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        //Cleared and recycled during its exit animation
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                alert.hide();
+                Alerter.clearCurrent(mockActivity);
+            }
+        });
+        sleep(1000);
+
+        final boolean[] hidden = new boolean[1];
+        final Alert next = Alerter.create(mockActivity)
+                .setText("Next")
+                .enableInfiniteDuration(true)
+                .setOnHideListener(new OnHideAlertListener() {
+                    @Override
+                    public void onHide() {
+                        hidden[0] = true;
+                    }
+                })
+                .show();
+        sleep(1000);
+
+        Assert.assertSame(alert, next);
+        Assert.assertNotNull(next.getParent());
+        Assert.assertFalse(hidden[0]);
+
+        Alerter.clearCurrent(mockActivity);
+    }
+
+    private void sleep(final long milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Log.e(getClass().getSimpleName(), Log.getStackTraceString(e));
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+    }
+}
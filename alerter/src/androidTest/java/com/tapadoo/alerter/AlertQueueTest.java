@@ -0,0 +1,124 @@
+package com.tapadoo.alerter;
+
+import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Alert Queue Test Case Class
+ */
+@RunWith(AndroidJUnit4.class)
+public class AlertQueueTest {
+
+    //Rule which sets the Activity to be used
+    @ClassRule
+    public static final ActivityTestRule<MockActivity> activityRule = new ActivityTestRule<>(MockActivity.class, true, false);
+
+    @SuppressLint("StaticFieldLeak")
+    private static Activity mockActivity;
+
+    @BeforeClass // Called once before all tests
+    public static void beforeClass() {
+        //Start our activity
+        activityRule.launchActivity(null);
+
+        //Store a reference to it
+        mockActivity = activityRule.getActivity();
+    }
+
+    @Before // Called before each test
+    public void setUp() {
+        AlertQueue.setEnabled(true);
+        AlertQueue.setMaxDepth(2);
+    }
+
+    @After // Called after each test
+    public void tearDown() {
+        AlertQueue.setEnabled(false);
+        AlertQueue.setMaxDepth(16);
+        Alerter.clearCurrent(mockActivity);
+    }
+
+    @Test
+    public void testMaxDepthDropsNewest() {
+        for (int i = 0; i < 4; i++) {
+            AlertQueue.enqueue(mockActivity, null, new Alert(mockActivity), AlertQueue.PRIORITY_NORMAL, AlertQueue.TIME_TO_LIVE_INFINITE);
+        }
+
+        Assert.assertEquals(2, AlertQueue.size());
+
+        //The first Alert is shown, the second keeps waiting
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        Assert.assertEquals(1, AlertQueue.size());
+    }
+
+    @Test
+    public void testPreemptedAlertIsRequeued() {
+        final Alert normal = new Alert(mockActivity);
+        AlertQueue.enqueue(mockActivity, null, normal, AlertQueue.PRIORITY_NORMAL, AlertQueue.TIME_TO_LIVE_INFINITE);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        Assert.assertNotNull(normal.getParent());
+
+        final Alert urgent = new Alert(mockActivity);
+        AlertQueue.enqueue(mockActivity, null, urgent, AlertQueue.PRIORITY_URGENT, AlertQueue.TIME_TO_LIVE_INFINITE);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        Assert.assertNotNull(urgent.getParent());
+        Assert.assertNull(normal.getParent());
+        Assert.assertEquals(1, AlertQueue.size());
+    }
+
+    @Test
+    public void testLowerPriorityWaits() {
+        final Alert high = new Alert(mockActivity);
+        AlertQueue.enqueue(mockActivity, null, high, AlertQueue.PRIORITY_HIGH, AlertQueue.TIME_TO_LIVE_INFINITE);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        final Alert low = new Alert(mockActivity);
+        AlertQueue.enqueue(mockActivity, null, low, AlertQueue.PRIORITY_LOW, AlertQueue.TIME_TO_LIVE_INFINITE);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        Assert.assertNotNull(high.getParent());
+        Assert.assertNull(low.getParent());
+        Assert.assertEquals(1, AlertQueue.size());
+    }
+
+    @Test
+    public void testFinishedActivityEndsItsTurn() {
+        final Activity activity = new ActivityTestRule<>(MockActivity.class, true, false).launchActivity(null);
+
+        final Alert visible = new Alert(activity);
+        visible.setEnableInfiniteDuration(true);
+        AlertQueue.enqueue(activity, null, visible, AlertQueue.PRIORITY_NORMAL, AlertQueue.TIME_TO_LIVE_INFINITE);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        Assert.assertNotNull(visible.getParent());
+
+        final Alert waiting = new Alert(mockActivity);
+        AlertQueue.enqueue(mockActivity, null, waiting, AlertQueue.PRIORITY_NORMAL, AlertQueue.TIME_TO_LIVE_INFINITE);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        Assert.assertNull(waiting.getParent());
+
+        //The visible Alert is never hidden, its Activity going away has to let the next one through
+        activity.finish();
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Log.e(getClass().getSimpleName(), Log.getStackTraceString(e));
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        Assert.assertNotNull(waiting.getParent());
+        Assert.assertEquals(0, AlertQueue.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.tapadoo.alerter;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Alert Scheduler Test Case Class
+ */
+@RunWith(AndroidJUnit4.class)
+public class AlertSchedulerTest {
+
+    private static final long DELAY = 300;
+
+    @Test
+    public void testPausedTaskKeepsRemainingTime() throws InterruptedException {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final AlertScheduler.Task[] task = new AlertScheduler.Task[1];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                task[0] = AlertScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        ran.set(true);
+                    }
+                }, DELAY);
+                task[0].pause();
+            }
+        });
+
+        //Paused for longer than the delay, so it must not have run
+        Thread.sleep(DELAY * 2);
+        Assert.assertFalse(ran.get());
+        Assert.assertTrue(task[0].getRemaining() > DELAY / 2);
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                task[0].resume();
+            }
+        });
+
+        Thread.sleep(DELAY * 2);
+        Assert.assertTrue(ran.get());
+    }
+
+    @Test
+    public void testCancelledTaskNeverRuns() throws InterruptedException {
+        final AtomicBoolean ran = new AtomicBoolean();
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                AlertScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        ran.set(true);
+                    }
+                }, DELAY).cancel();
+            }
+        });
+
+        Thread.sleep(DELAY * 2);
+        Assert.assertFalse(ran.get());
+    }
+}
@@ -78,6 +78,20 @@ public class AlertTest {
         Assert.assertNotNull(alert.getIcon());
     }
 
+    @Test
+    public void testInflatedLayoutElements() {
+        Alerter.setInflateFromXml(true);
+        final Alert alert = new Alert(mockActivity);
+        Alerter.setInflateFromXml(false);
+
+        //Ensure all elements are present when built from the XML layout
+        Assert.assertNotNull(alert.getAlertBackground());
+        Assert.assertNotNull(alert.getTitle());
+        Assert.assertNotNull(alert.getText());
+        Assert.assertNotNull(alert.getIcon());
+        Assert.assertNotNull(alert.getSecondIcon());
+    }
+
     @Test
     public void testTitleString() {
         //Strings
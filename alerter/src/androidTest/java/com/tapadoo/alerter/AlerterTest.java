@@ -3,11 +3,14 @@ package com.tapadoo.alerter;
 import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.graphics.drawable.ColorDrawable;
+import android.net.Uri;
 import android.os.Build;
+import android.support.test.InstrumentationRegistry;
 import android.support.test.rule.ActivityTestRule;
 import android.support.test.runner.AndroidJUnit4;
 import android.support.v4.content.ContextCompat;
 import android.util.Log;
+import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -76,6 +79,93 @@ public class AlerterTest {
         Assert.assertSame(childCount + 1, childCountAfter);
     }
 
+    @Test
+    public void testIsShowingTracksHost() {
+        Alerter.create(mockActivity).show();
+
+        //Wait to ensure Alert layout is fully added
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Log.e(getClass().getSimpleName(), Log.getStackTraceString(e));
+        }
+
+        Assert.assertTrue(Alerter.isShowing(mockActivity));
+        Assert.assertTrue(Alerter.isShowing());
+    }
+
+    @Test
+    public void testContainerHost() {
+        final ViewGroup content = (ViewGroup) mockActivity.findViewById(android.R.id.content);
+        final int childCount = content.getChildCount();
+
+        Alerter.create(mockActivity)
+                .setHost(AlertHost.container(content))
+                .show();
+
+        //Wait to ensure Alert layout is fully added
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Log.e(getClass().getSimpleName(), Log.getStackTraceString(e));
+        }
+
+        Assert.assertEquals(childCount + 1, content.getChildCount());
+        Assert.assertTrue(Alerter.isShowing(mockActivity));
+    }
+
+    @Test
+    public void testFinishedActivityReleasesItsAlerts() {
+        Alerter.clearCurrent(mockActivity);
+        final Activity activity = launchActivity();
+
+        Alerter.create(activity).enableInfiniteDuration(true).show();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        Assert.assertTrue(Alerter.isShowing(activity));
+
+        finishActivity(activity);
+
+        //The Alert never hides by itself, so only the Activity going away takes it and its host along
+        Assert.assertFalse(Alerter.isShowing());
+        Assert.assertEquals(0, AlertHosts.registered(activity).length);
+    }
+
+    @Test
+    public void testFinishedActivityRemovesItsPanels() {
+        final Activity activity = launchActivity();
+
+        final Alert alert = Alerter.create(activity)
+                .setHost(AlertHost.panel(activity))
+                .enableInfiniteDuration(true)
+                .show();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        Assert.assertTrue(Alerter.isShowing(activity));
+
+        finishActivity(activity);
+
+        //Removed from the window manager before the Activity's window, rather than leaked
+        Assert.assertNull(alert.getParent());
+        Assert.assertFalse(Alerter.isShowing(activity));
+        Assert.assertEquals(0, AlertHosts.registered(activity).length);
+    }
+
+    @Test
+    public void testClearingCancelsTheIconDecode() {
+        final Uri uri = Uri.parse("android.resource://android/" + android.R.drawable.sym_def_app_icon);
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final Alert alert = Alerter.create(mockActivity).setIcon(uri).show();
+                Assert.assertTrue(alert.isIconPending());
+
+                //Not laid out yet, so the Alert is removed at once rather than faded out
+                Alerter.clearCurrent(mockActivity);
+                Assert.assertFalse(alert.isIconPending());
+            }
+        });
+    }
+
     @Test
     public void testBuilderStrings() {
         final Alert alert = Alerter.create(mockActivity)
@@ -120,6 +210,146 @@ public class AlerterTest {
         }
     }
 
+    @Test
+    public void testNamedTheme() {
+        //The default theme is resolved once per Context theme
+        Assert.assertSame(AlertTheme.of(mockActivity), AlertTheme.of(mockActivity));
+
+        AlertTheme.register("error", new AlertTheme.Builder(mockActivity)
+                .setBackgroundColorInt(0xFFF44336)
+                .build());
+
+        try {
+            final Alert alert = Alerter.create(mockActivity).setTheme("error").show();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+                Assert.assertEquals(0xFFF44336, ((ColorDrawable) alert.getAlertBackground().getBackground()).getColor());
+            }
+        } finally {
+            AlertTheme.unregister("error");
+        }
+    }
+
+    @Test
+    public void testThemeFollowsCallOrder() {
+        final AlertTheme theme = new AlertTheme.Builder(mockActivity)
+                .setTextColorInt(0xFF00FF00)
+                .build();
+
+        //The theme comes last, so it wins over the appearance like it would have if applied at once
+        final Alert alert = Alerter.create(mockActivity)
+                .setText("Text")
+                .setTextAppearance(R.style.AlertTextAppearance_Text)
+                .setTheme(theme)
+                .show();
+
+        Assert.assertEquals(0xFF00FF00, alert.getText().getCurrentTextColor());
+    }
+
+    @Test
+    public void testSpecTemplate() {
+        final AlertSpec template = new AlertSpec.Builder()
+                .setTitle("Title")
+                .setText("Text")
+                .build();
+        final AlertSpec derived = template.buildUpon().setText("Other").build();
+
+        //Deriving leaves the template untouched
+        Assert.assertEquals("Text", template.getText());
+        Assert.assertEquals("Other", derived.getText());
+
+        final Alert alert = Alerter.create(mockActivity, derived).show();
+        Assert.assertEquals("Title", alert.getTitle().getText().toString());
+        Assert.assertEquals("Other", alert.getText().getText().toString());
+    }
+
+    @Test
+    public void testDuplicatesCoalesce() {
+        AlertCoalescer.setWindow(10000);
+
+        try {
+            final Alert first = Alerter.create(mockActivity).setTitle("Duplicate").setText("Alert").show();
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+            //Both duplicates are counted on the visible Alert, which stays in place
+            Alerter.create(mockActivity).setTitle("Duplicate").setText("Alert").show();
+            Alerter.create(mockActivity).setTitle("Duplicate").setText("Alert").show();
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+            Assert.assertNotNull(first.getParent());
+            Assert.assertEquals(3, ((AlertLayout) first.findViewById(R.id.flAlertBackground)).getCount());
+
+            //Alerts without a title or text have nothing to be told apart by
+            Assert.assertNull(AlertCoalescer.keyOf(null, ""));
+        } finally {
+            AlertCoalescer.setWindow(0);
+        }
+    }
+
+    @Test
+    public void testDuplicatesOnlyCoalesceWhereShown() {
+        AlertCoalescer.setWindow(10000);
+        final Activity activity = launchActivity();
+
+        try {
+            Alerter.create(mockActivity).setTitle("Elsewhere").setText("Alert").show();
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+            //The first Alert is in the Activity behind, so the duplicate has to show
+            final Alert duplicate = Alerter.create(activity).setTitle("Elsewhere").setText("Alert").show();
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+            Assert.assertNotNull(duplicate.getParent());
+        } finally {
+            AlertCoalescer.setWindow(0);
+            finishActivity(activity);
+        }
+    }
+
+    @Test
+    public void testUpdateInPlace() {
+        final Alert alert = Alerter.create(mockActivity).setText("Uploading 1/10").show();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        alert.update().setText("Uploading 2/10").setBackgroundColorInt(0xFF000000).apply();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        //Still the same Alert, showing the new content
+        Assert.assertNotNull(alert.getParent());
+        Assert.assertEquals("Uploading 2/10", alert.getText().getText().toString());
+    }
+
+    @Test
+    public void testStaleUpdateIsDropped() {
+        final Alert alert = new Alert(mockActivity);
+        final AlertUpdate update = alert.update().setText("Stale");
+
+        //Recycled before the update arrives, so the next show mustn't pick it up
+        alert.resetForReuse();
+        update.apply();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        Assert.assertEquals(View.GONE, alert.getText().getVisibility());
+    }
+
+    @Test
+    public void testStyledAlertTakesOneLayoutPass() {
+        final Alert alert = Alerter.create(mockActivity)
+                .setTitle("Title")
+                .setText("Text")
+                .setTitleAppearance(R.style.AlertTextAppearance_Title)
+                .setTextAppearance(R.style.AlertTextAppearance_Text)
+                .setBarHeight(ViewGroup.LayoutParams.WRAP_CONTENT)
+                .setBarWidth(ViewGroup.LayoutParams.MATCH_PARENT)
+                .setBarMargin(0)
+                .setContentGravity(Gravity.CENTER)
+                .show();
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        //Every style property lands before attach, so the bar is measured and laid out once
+        Assert.assertEquals(1, alert.getMeasurePassCount());
+        Assert.assertEquals(1, alert.getLayoutPassCount());
+    }
+
     @Test
     public void testBuilderOnClickListener() {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH_MR1) {
@@ -147,4 +377,20 @@ public class AlerterTest {
 
         Assert.assertTrue(alert3.getAlertBackground().hasOnClickListeners());
     }
+
+    private static Activity launchActivity() {
+        return new ActivityTestRule<>(MockActivity.class, true, false).launchActivity(null);
+    }
+
+    private void finishActivity(final Activity activity) {
+        activity.finish();
+
+        //Wait to ensure the Activity is destroyed
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Log.e(getClass().getSimpleName(), Log.getStackTraceString(e));
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+    }
 }
@@ -1,34 +1,40 @@
 package com.tapadoo.alerter;
 
-import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.ColorStateList;
 import android.graphics.Bitmap;
-import android.graphics.LightingColorFilter;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
 import android.graphics.Typeface;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
+import android.net.Uri;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
 import android.support.annotation.DrawableRes;
+import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RequiresApi;
 import android.support.annotation.StringRes;
 import android.support.annotation.StyleRes;
+import android.support.annotation.VisibleForTesting;
 import android.support.v4.content.ContextCompat;
-import android.support.v7.content.res.AppCompatResources;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.ViewPropertyAnimatorCompat;
 import android.text.TextUtils;
 import android.util.AttributeSet;
-import android.util.Log;
+import android.view.Gravity;
 import android.view.HapticFeedbackConstants;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
-import android.view.animation.LinearInterpolator;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
@@ -36,27 +42,33 @@ import android.widget.TextView;
 
 import com.tapadoo.android.R;
 
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * The type Alert.
  */
 public class Alert extends FrameLayout implements View.OnClickListener, Animation.AnimationListener, SwipeDismissTouchListener.DismissCallbacks {
 
+    private static final String TAG = Alert.class.getSimpleName();
+
     private static final int CLEAN_UP_DELAY_MILLIS = 100;
 
     private static final long DISPLAY_TIME_IN_SECONDS = 3000;
-    private static final int MUL = 0xFF000000;
 
-    //UI
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    //UI, the title, second icon and progress bar are only created once used
     private FrameLayout flClickShield;
-    private FrameLayout flBackground;
+    private AlertLayout flBackground;
     private TextView tvTitle;
     private TextView tvText;
     private ImageView ivIcon;
     private ImageView lvIcon;
-    private ViewGroup rlContainer;
     private ProgressBar pbProgress;
 
     private Animation slideInAnimation;
+    private long enterDuration;
     private Animation slideOutAnimation;
 
     private OnShowAlertListener onShowListener;
@@ -65,13 +77,71 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
     private long duration = DISPLAY_TIME_IN_SECONDS;
 
     private boolean enableIconPulse = true;
+    private int iconPulseCycles;
+    private IconPulse iconPulse;
     private boolean enableInfiniteDuration;
     private boolean enableProgress;
 
-    private Runnable runningAnimation;
+    private AlertScheduler.Task hideTask;
+    private CountdownDrawable countdownDrawable;
+    private AlertIconLoader.Request iconRequest;
+    private String coalesceKey;
+    private Runnable pendingCrossfade;
+
+    private final Runnable hideRunnable = new Runnable() {
+        @Override
+        public void run() {
+            hideTask = null;
+            hide();
+        }
+    };
+
+    //Determinate progress, set from any thread and applied at most once per frame
+    private volatile int pendingProgress;
+    private final AtomicBoolean progressUpdatePosted = new AtomicBoolean();
+
+    private final Runnable progressUpdate = new Runnable() {
+        @Override
+        public void run() {
+            progressUpdatePosted.set(false);
+            applyProgress(pendingProgress);
+        }
+    };
 
-    private boolean marginSet;
+    private boolean hiding;
     private boolean vibrationEnabled = true;
+    private boolean precomputeText;
+
+    //Inflated state, restored when the Alert is recycled
+    private Drawable defaultIcon;
+    private Drawable defaultSecondIcon;
+    private int defaultBarMargin;
+    private Drawable defaultProgressDrawable;
+    private ColorFilter progressColorFilter;
+    private boolean progressTinted;
+
+    //Applied to the title & second icon once they are created
+    private AlertTheme titleTheme;
+    private int pendingTitleAppearance;
+    private Typeface pendingTitleTypeface;
+    private String titleTypefacePath;
+    private String textTypefacePath;
+    private boolean pendingSecondIconColorSet;
+    private int pendingSecondIconColor;
+
+    //Where the Alert is showing, if anywhere
+    private AlertHost host;
+
+    //Bumped once a show is over, so that updates for it don't reach the next one
+    private volatile int generation;
+
+    //Removes the Alert once its exit animation is over
+    private Runnable removeTask;
+
+    //Metrics, only tracked while a listener is installed
+    private long constructionNanos = AlertMetrics.NOT_MEASURED;
+    private AlertMetricsListener metricsListener;
+    private AlertMetricsTracker metricsTracker;
 
     /**
      * Instantiates a new Alert.
@@ -107,52 +177,197 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
     }
 
     private void initView() {
-        inflate(getContext(), R.layout.alerter_alert_view, this);
-        setHapticFeedbackEnabled(true);
+        final boolean traced = AlerterTrace.begin(AlerterTrace.BUILD);
+        final long startedAt = System.nanoTime();
 
-        flBackground = (FrameLayout) findViewById(R.id.flAlertBackground);
-        flClickShield = (FrameLayout) findViewById(R.id.flClickShield);
-        ivIcon = (ImageView) findViewById(R.id.ivIcon);
-        lvIcon = (ImageView) findViewById(R.id.lvIcon);
-        tvTitle = (TextView) findViewById(R.id.tvTitle);
-        tvText = (TextView) findViewById(R.id.tvText);
-        rlContainer = (ViewGroup) findViewById(R.id.rlContainer);
-        pbProgress = (ProgressBar) findViewById(R.id.pbProgress);
+        if (AlertViewFactory.isInflateFromXml()) {
+            inflateView();
+        } else {
+            buildView();
+        }
 
+        setHapticFeedbackEnabled(true);
         flBackground.setOnClickListener(this);
 
+        defaultIcon = ivIcon.getDrawable();
+        defaultSecondIcon = lvIcon != null ? lvIcon.getDrawable() : null;
+        defaultBarMargin = ((LayoutParams) flBackground.getLayoutParams()).topMargin;
+
         //Setup Enter & Exit Animations
         slideInAnimation = AnimationUtils.loadAnimation(getContext(), R.anim.alerter_slide_in_from_top);
         slideOutAnimation = AnimationUtils.loadAnimation(getContext(), R.anim.alerter_slide_out_to_top);
         slideInAnimation.setAnimationListener(this);
+        enterDuration = slideInAnimation.getDuration();
 
         //Set Animation to be Run when View is added to Window
         setAnimation(slideInAnimation);
+
+        // Add a negative top margin to compensate for overshoot enter animation. Set up front, so
+        // that attaching the Alert doesn't need a second layout pass to apply it
+        final LayoutParams params = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+        params.topMargin = getContext().getResources().getDimensionPixelSize(R.dimen.alerter_alert_negative_margin_top);
+        setLayoutParams(params);
+
+        constructionNanos = System.nanoTime() - startedAt;
+        AlerterTrace.end(traced);
     }
 
-    @Override
-    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    // Inflate R.layout.alerter_alert_view, which apps may override
+    private void inflateView() {
+        inflate(getContext(), R.layout.alerter_alert_view, this);
 
-        if (!marginSet) {
-            marginSet = true;
+        flClickShield = (FrameLayout) findViewById(R.id.flClickShield);
+        ivIcon = (ImageView) findViewById(R.id.ivIcon);
+        lvIcon = (ImageView) findViewById(R.id.lvIcon);
+        tvTitle = (TextView) findViewById(R.id.tvTitle);
+        tvText = (TextView) findViewById(R.id.tvText);
+        pbProgress = (ProgressBar) findViewById(R.id.pbProgress);
 
-            // Add a negative top margin to compensate for overshoot enter animation
-            final ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) getLayoutParams();
-            params.topMargin = getContext().getResources().getDimensionPixelSize(R.dimen.alerter_alert_negative_margin_top);
-            requestLayout();
+        final View background = findViewById(R.id.flAlertBackground);
+        if (background instanceof AlertLayout) {
+            flBackground = (AlertLayout) background;
+        } else {
+            //Overrides of the layout from before AlertLayout nest the content in a plain bar
+            flBackground = AlertViewFactory.adoptLegacyBackground(background, ivIcon, tvTitle, tvText, lvIcon, pbProgress);
+            flBackground.bindContentViews(ivIcon, tvTitle, tvText, lvIcon);
         }
     }
 
+    // Build the same tree in code, skipping the LayoutInflater altogether
+    private void buildView() {
+        final Context context = getContext();
+
+        flClickShield = AlertViewFactory.createClickShield(context);
+        flBackground = AlertViewFactory.createBackground(context);
+        ivIcon = AlertViewFactory.createIcon(context, R.id.ivIcon);
+        tvText = AlertViewFactory.createText(context);
+
+        flBackground.addView(ivIcon);
+        flBackground.addView(tvText);
+        flBackground.bindContentViews(ivIcon, null, tvText, null);
+
+        flClickShield.addView(flBackground);
+        addView(flClickShield);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        flBackground.resetPassCounts();
+
+        //Rate limited enter animations end at once, so that the Alert still runs through its callbacks
+        slideInAnimation.setDuration(AlertFloodControl.acquireEnterAnimation() ? enterDuration : 0);
+    }
+
     // Release resources once view is detached.
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         slideInAnimation.setAnimationListener(null);
+
+        cancelHideTask();
+        cancelProgressUpdate();
+        stopIconPulse();
+
+        //Still in its host, so its window went away under it rather than it being hidden
+        final AlertHost detachedFrom = host;
+        if (detachedFrom != null && detachedFrom.contains(this)) {
+            cancelIconRequest();
+            onWindowGone(detachedFrom);
+        }
+    }
+
+    //Removes the Alert from its host once the view tree is done detaching, unless it came back
+    private void onWindowGone(@NonNull final AlertHost detachedFrom) {
+        final int detachedGeneration = generation;
+        MAIN_HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != detachedGeneration || getWindowToken() != null) {
+                    return;
+                }
+
+                detachedFrom.discard(Alert.this);
+                if (!detachedFrom.isShowing()) {
+                    AlertHosts.unregister(detachedFrom);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(final int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        if (iconPulse != null) {
+            iconPulse.onWindowVisibilityChanged(visibility == VISIBLE);
+        }
+    }
+
+    /* Optional Parts */
+
+    private TextView ensureTitle() {
+        if (tvTitle == null) {
+            tvTitle = AlertViewFactory.createTitle(getContext());
+            if (titleTheme != null) {
+                titleTheme.applyTitle(tvTitle);
+            }
+            if (pendingTitleAppearance != 0) {
+                AlertViewFactory.applyTextAppearance(tvTitle, pendingTitleAppearance);
+            }
+            if (pendingTitleTypeface != null) {
+                tvTitle.setTypeface(pendingTitleTypeface);
+            }
+            flBackground.addView(tvTitle);
+            flBackground.bindTitle(tvTitle);
+        }
+
+        return tvTitle;
+    }
+
+    private ImageView ensureSecondIcon() {
+        if (lvIcon == null) {
+            lvIcon = AlertViewFactory.createIcon(getContext(), R.id.lvIcon);
+            lvIcon.setVisibility(GONE);
+            defaultSecondIcon = lvIcon.getDrawable();
+            if (pendingSecondIconColorSet) {
+                lvIcon.setColorFilter(AlertIconCache.colorFilter(pendingSecondIconColor));
+            }
+            flBackground.addView(lvIcon);
+            flBackground.bindSecondIcon(lvIcon);
+        }
+
+        return lvIcon;
+    }
+
+    private int getIconSize() {
+        return getResources().getDimensionPixelSize(R.dimen.alerter_alert_icn_size);
+    }
+
+    private ProgressBar ensureProgress() {
+        if (pbProgress == null) {
+            pbProgress = AlertViewFactory.createProgress(getContext());
+            pbProgress.setVisibility(GONE);
+            flBackground.addView(pbProgress);
+        }
+        if (defaultProgressDrawable == null) {
+            defaultProgressDrawable = pbProgress.getProgressDrawable();
+        }
+
+        return pbProgress;
     }
 
     /* Override Methods */
 
+    @Override
+    protected void dispatchDraw(final Canvas canvas) {
+        super.dispatchDraw(canvas);
+
+        if (metricsTracker != null) {
+            metricsTracker.onDraw();
+        }
+    }
+
     @Override
     public boolean onTouchEvent(final MotionEvent event) {
         performClick();
@@ -181,23 +396,40 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
 
     @Override
     public void onAnimationStart(final Animation animation) {
+        final boolean traced = AlerterTrace.begin(AlerterTrace.ENTER_START);
+
+        if (metricsTracker != null) {
+            metricsTracker.onEnterStart();
+        }
+
         if (!isInEditMode()) {
-            if (vibrationEnabled) {
+            if (vibrationEnabled && AlertFloodControl.acquireHaptic()) {
                 performHapticFeedback(HapticFeedbackConstants.VIRTUAL_KEY);
             }
 
             setVisibility(View.VISIBLE);
         }
+
+        AlerterTrace.end(traced);
     }
 
     @Override
     public void onAnimationEnd(final Animation animation) {
+        final boolean traced = AlerterTrace.begin(AlerterTrace.ENTER_END);
+
+        if (metricsTracker != null) {
+            metricsTracker.onEnterEnd();
+        }
+
         //Start the Icon Animation once the Alert is settled
         if (enableIconPulse && ivIcon.getVisibility() == VISIBLE) {
             try {
-                ivIcon.startAnimation(AnimationUtils.loadAnimation(getContext(), R.anim.alerter_pulse));
+                if (iconPulse == null) {
+                    iconPulse = new IconPulse(ivIcon, iconPulseCycles);
+                }
+                iconPulse.start();
             } catch (Exception ex) {
-                Log.e(getClass().getSimpleName(), Log.getStackTraceString(ex));
+                AlerterLog.e(TAG, "Unable to start the icon pulse", ex);
             }
         }
 
@@ -206,36 +438,79 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
         }
 
         startHideAnimation();
+
+        AlerterTrace.end(traced);
     }
 
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     private void startHideAnimation() {
-        //Start the Handler to clean up the Alert
+        final boolean traced = AlerterTrace.begin(AlerterTrace.SCHEDULE_HIDE);
+
+        //Schedule the clean up of the Alert
+        cancelHideTask();
         if (!enableInfiniteDuration) {
-            runningAnimation = new Runnable() {
-                @Override
-                public void run() {
-                    hide();
-                }
-            };
-            postDelayed(runningAnimation, duration);
+            hideTask = AlertScheduler.schedule(hideRunnable, duration);
         }
 
-        if (enableProgress && android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.HONEYCOMB) {
-            pbProgress.setVisibility(View.VISIBLE);
+        //The countdown reads the task's remaining time as it draws, so it needs no animator
+        if (enableProgress && hideTask != null) {
+            final ProgressBar progress = ensureProgress();
+            if (countdownDrawable == null) {
+                countdownDrawable = new CountdownDrawable(getContext());
+            }
+            countdownDrawable.setColorFilter(progressColorFilter);
+            progress.setIndeterminate(false);
+            progress.setProgressDrawable(countdownDrawable);
+            countdownDrawable.start(hideTask, duration);
+            progress.setVisibility(View.VISIBLE);
+        }
 
-            final ValueAnimator valueAnimator = ValueAnimator.ofInt(0, 100);
-            valueAnimator.setDuration(duration);
-            valueAnimator.setInterpolator(new LinearInterpolator());
-            valueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-                @Override
-                public void onAnimationUpdate(final ValueAnimator animation) {
-                    pbProgress.setProgress((int) animation.getAnimatedValue());
-                }
-            });
-            valueAnimator.start();
+        AlerterTrace.end(traced);
+    }
+
+    private void cancelHideTask() {
+        if (hideTask != null) {
+            hideTask.cancel();
+            hideTask = null;
+        }
+    }
+
+    private void stopIconPulse() {
+        if (iconPulse != null) {
+            iconPulse.stop();
+        } else {
+            ivIcon.clearAnimation();
+        }
+    }
+
+    private void cancelIconRequest() {
+        if (iconRequest != null) {
+            iconRequest.cancel();
+            iconRequest = null;
+        }
+    }
+
+    private void cancelProgressUpdate() {
+        removeCallbacks(progressUpdate);
+        MAIN_HANDLER.removeCallbacks(progressUpdate);
+        progressUpdatePosted.set(false);
+    }
+
+    private void applyProgress(final int progress) {
+        final ProgressBar bar = ensureProgress();
+
+        //A determinate value replaces the countdown
+        if (bar.getProgressDrawable() != defaultProgressDrawable) {
+            bar.setProgressDrawable(defaultProgressDrawable);
+            if (defaultProgressDrawable != null) {
+                defaultProgressDrawable.setColorFilter(progressColorFilter);
+            }
+        }
+        if (bar.isIndeterminate()) {
+            bar.setIndeterminate(false);
         }
 
+        bar.setProgress(progress);
+        bar.setVisibility(VISIBLE);
     }
 
     @Override
@@ -249,16 +524,30 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * Hide.
      */
     public void hide() {
+        final boolean traced = AlerterTrace.begin(AlerterTrace.HIDE);
+        hiding = true;
+        cancelHideTask();
+        cancelIconRequest();
+        stopIconPulse();
+
         try {
             slideOutAnimation.setAnimationListener(new Animation.AnimationListener() {
                 @Override
                 public void onAnimationStart(final Animation animation) {
                     flBackground.setOnClickListener(null);
                     flBackground.setClickable(false);
+
+                    if (metricsTracker != null) {
+                        metricsTracker.onExitStart();
+                    }
                 }
 
                 @Override
                 public void onAnimationEnd(final Animation animation) {
+                    if (metricsTracker != null) {
+                        metricsTracker.onExitEnd();
+                    }
+
                     removeFromParent();
                 }
 
@@ -269,33 +558,508 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
             });
             startAnimation(slideOutAnimation);
         } catch (Exception ex) {
-            Log.e(getClass().getSimpleName(), Log.getStackTraceString(ex));
+            AlerterLog.e(TAG, "Unable to start the exit animation", ex);
+        } finally {
+            AlerterTrace.end(traced);
         }
     }
 
     private void removeFromParent() {
-        postDelayed(new Runnable() {
+        cancelRemoveTask();
+
+        final int hiddenGeneration = generation;
+        removeTask = new Runnable() {
             @Override
             public void run() {
+                removeTask = null;
+
+                //Only for the show it was started in, a recycled Alert may be showing again
+                if (generation != hiddenGeneration) {
+                    return;
+                }
+
+                final boolean traced = AlerterTrace.begin(AlerterTrace.REMOVE);
+
                 try {
                     if (getParent() == null) {
-                        Log.e(getClass().getSimpleName(), "getParent() returning Null");
+                        AlerterLog.e(TAG, "getParent() returning Null");
                     } else {
                         try {
-                            ((ViewGroup) getParent()).removeView(Alert.this);
+                            detachFromHost();
 
                             if (onHideListener != null) {
                                 onHideListener.onHide();
                             }
+
+                            onRemoved();
                         } catch (Exception ex) {
-                            Log.e(getClass().getSimpleName(), "Cannot remove from parent layout");
+                            AlerterLog.e(TAG, "Cannot remove from parent layout", ex);
                         }
                     }
                 } catch (Exception ex) {
-                    Log.e(getClass().getSimpleName(), Log.getStackTraceString(ex));
+                    AlerterLog.e(TAG, "Unable to remove the Alert", ex);
+                } finally {
+                    AlerterTrace.end(traced);
                 }
             }
-        }, CLEAN_UP_DELAY_MILLIS);
+        };
+
+        //Not through the view, which holds posts back until it is attached again
+        MAIN_HANDLER.postDelayed(removeTask, CLEAN_UP_DELAY_MILLIS);
+    }
+
+    private void cancelRemoveTask() {
+        if (removeTask != null) {
+            MAIN_HANDLER.removeCallbacks(removeTask);
+            removeTask = null;
+        }
+    }
+
+    /**
+     * Restores the Alert to its freshly inflated state so that it can be shown again.
+     * Must only be called once the Alert has been removed from its parent.
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    void resetForReuse() {
+        generation++;
+        cancelHideTask();
+        cancelRemoveTask();
+        cancelIconRequest();
+        cancelProgressUpdate();
+        cancelCrossfade();
+        coalesceKey = null;
+
+        //Animations & transient view properties. Clearing a running animation reports it as ended
+        slideInAnimation.setAnimationListener(null);
+        slideOutAnimation.setAnimationListener(null);
+        clearAnimation();
+        stopIconPulse();
+        slideOutAnimation.reset();
+        ViewCompat.animate(this).cancel();
+        ViewCompat.setAlpha(this, 1f);
+        ViewCompat.setTranslationY(this, 0f);
+        ViewCompat.animate(flBackground).cancel();
+        ViewCompat.setAlpha(flBackground, 1f);
+        ViewCompat.setTranslationX(flBackground, 0f);
+
+        //Swipe to dismiss removes the background from the click shield
+        if (flBackground.getParent() == null) {
+            flClickShield.addView(flBackground);
+        }
+
+        //Click shield & listeners
+        flClickShield.setClickable(false);
+        flBackground.setOnTouchListener(null);
+        flBackground.setOnClickListener(this);
+        flBackground.setClickable(true);
+        onShowListener = null;
+        onHideListener = null;
+
+        //Metrics, a recycled Alert wasn't built for its next show
+        finishMetrics();
+        metricsListener = null;
+        constructionNanos = AlertMetrics.NOT_MEASURED;
+
+        //Layout
+        flBackground.setContentBox(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT, Gravity.NO_GRAVITY);
+        flBackground.setCount(0);
+        ((LayoutParams) flBackground.getLayoutParams()).topMargin = defaultBarMargin;
+
+        //Content
+        final AlertTheme theme = AlertTheme.of(getContext());
+        setAlertBackgroundColor(theme.getBackgroundColor());
+        if (tvTitle != null) {
+            tvTitle.setText(null);
+            tvTitle.setVisibility(GONE);
+            AlertViewFactory.resetTitleAppearance(tvTitle);
+        }
+        titleTheme = null;
+        pendingTitleAppearance = 0;
+        pendingTitleTypeface = null;
+        titleTypefacePath = null;
+        textTypefacePath = null;
+        tvText.setText(null);
+        tvText.setVisibility(GONE);
+        AlertViewFactory.resetTextAppearance(tvText);
+        ivIcon.setImageDrawable(defaultIcon);
+        AlertViewFactory.applyDefaultTint(ivIcon);
+        ivIcon.setVisibility(VISIBLE);
+        if (lvIcon != null) {
+            lvIcon.setImageDrawable(defaultSecondIcon);
+            AlertViewFactory.applyDefaultTint(lvIcon);
+            lvIcon.setVisibility(GONE);
+        }
+        pendingSecondIconColorSet = false;
+
+        //Progress
+        if (pbProgress != null) {
+            if (pbProgress.getProgressDrawable() != defaultProgressDrawable) {
+                pbProgress.setProgressDrawable(defaultProgressDrawable);
+            }
+            if (defaultProgressDrawable != null) {
+                defaultProgressDrawable.clearColorFilter();
+            }
+            if (progressTinted && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                pbProgress.setIndeterminateTintList(null);
+                pbProgress.setBackgroundTintList(null);
+            }
+            pbProgress.setIndeterminate(true);
+            pbProgress.setProgress(0);
+            pbProgress.setVisibility(GONE);
+        }
+        progressColorFilter = null;
+        progressTinted = false;
+
+        //Behaviour flags
+        duration = DISPLAY_TIME_IN_SECONDS;
+        enableIconPulse = true;
+        iconPulseCycles = 0;
+        iconPulse = null;
+        enableInfiniteDuration = false;
+        enableProgress = false;
+        vibrationEnabled = true;
+        precomputeText = false;
+
+        armEnterAnimation();
+    }
+
+    /**
+     * Takes the Alert off screen without hiding it, so that it can be shown again later for the
+     * rest of its duration. The on hide listener is not called.
+     *
+     * @return the remaining duration in milliseconds
+     */
+    long suspend() {
+        if (hideTask != null) {
+            duration = hideTask.getRemaining();
+        }
+
+        cancelHideTask();
+
+        //Clearing a running enter animation would otherwise report it as ended
+        slideInAnimation.setAnimationListener(null);
+        clearAnimation();
+        stopIconPulse();
+
+        detachFromHost();
+        armEnterAnimation();
+
+        return duration;
+    }
+
+    /**
+     * Sets the host the Alert was added to.
+     *
+     * @param host the host
+     */
+    void setHost(@Nullable final AlertHost host) {
+        this.host = host;
+    }
+
+    /**
+     * Gets the host the Alert was added to.
+     *
+     * @return the host, or null if the Alert isn't showing
+     */
+    @Nullable
+    AlertHost getHost() {
+        return host;
+    }
+
+    private void detachFromHost() {
+        if (host != null) {
+            host.remove(this);
+            host = null;
+        } else if (getParent() != null) {
+            ((ViewGroup) getParent()).removeView(this);
+        }
+    }
+
+    /**
+     * Called once the Alert has left its host for good, however it was hidden.
+     */
+    void onRemoved() {
+        AlertQueue.onHidden(this);
+        onDropped();
+    }
+
+    /**
+     * Called once the Alert is given up without being hidden, e.g. when it is dropped from the
+     * {@link AlertQueue}. Must be called from the UI thread.
+     */
+    void onDropped() {
+        generation++;
+        cancelRemoveTask();
+        cancelIconRequest();
+        host = null;
+        if (coalesceKey != null) {
+            AlertCoalescer.unregister(coalesceKey, this);
+        }
+        finishMetrics();
+        AlertPool.release(this);
+    }
+
+    /**
+     * Starts collecting metrics, if a listener is installed. Called when the Alert is shown.
+     */
+    void startMetrics() {
+        metricsTracker = AlertMetricsTracker.start(getContext(), metricsListener, constructionNanos);
+    }
+
+    /**
+     * Delivers the collected metrics, if any. Called once the Alert has been hidden.
+     */
+    void finishMetrics() {
+        if (metricsTracker != null) {
+            metricsTracker.finish();
+            metricsTracker = null;
+        }
+    }
+
+    /**
+     * Sets the key duplicates of this Alert are coalesced by, or null to never coalesce it.
+     *
+     * @param key the key
+     */
+    void setCoalesceKey(@Nullable final String key) {
+        coalesceKey = key;
+    }
+
+    /**
+     * Gets the key duplicates of this Alert are coalesced by.
+     *
+     * @return the key, or null
+     */
+    @Nullable
+    String getCoalesceKey() {
+        return coalesceKey;
+    }
+
+    /**
+     * Builds the default coalescing key from the title and text, without creating the title.
+     *
+     * @return the key, or null if the Alert has neither a title nor text
+     */
+    @Nullable
+    String getContentKey() {
+        return AlertCoalescer.keyOf(tvTitle != null ? tvTitle.getText() : null, tvText.getText());
+    }
+
+    /**
+     * Called when a duplicate of this Alert is shown: counts it in place and restarts the hide
+     * timer, rather than replacing the Alert.
+     *
+     * @param count the number of occurrences so far
+     */
+    void onDuplicate(final int count) {
+        flBackground.setCount(count);
+        restartHideTimer();
+    }
+
+    /**
+     * Restarts the hide timer, and the countdown with it, if the Alert is counting down.
+     */
+    void restartHideTimer() {
+        if (hideTask != null) {
+            startHideAnimation();
+        }
+    }
+
+    /**
+     * Starts a batch of changes to this Alert while it is showing, in place of showing a new one.
+     *
+     * @return the update, applied by {@link AlertUpdate#apply()}
+     */
+    public AlertUpdate update() {
+        return new AlertUpdate(this, generation);
+    }
+
+    /**
+     * Gets the generation of the Alert, which changes once it is hidden or recycled.
+     *
+     * @return the generation
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Builds an update turning another Alert's content into this Alert's. Must be called from the
+     * UI thread.
+     *
+     * @param target the Alert to update
+     * @return the update
+     */
+    @NonNull
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    AlertUpdate updateOf(@NonNull final Alert target) {
+        final AlertUpdate update = target.update()
+                .setTitle(tvTitle != null && tvTitle.getVisibility() == VISIBLE ? tvTitle.getText() : null)
+                .setText(tvText.getVisibility() == VISIBLE ? tvText.getText() : null)
+                .showIcon(ivIcon.getVisibility() == VISIBLE);
+
+        //A copy, as this Alert's own icon stays with it, or is reset to its default icon on recycling.
+        //An icon still being decoded is decoded again for the target, this Alert's decode is dropped with it
+        final Drawable icon = ivIcon.getDrawable();
+        if (iconRequest != null) {
+            update.setIcon(iconRequest.getUri());
+        } else if (icon != null) {
+            final Drawable.ConstantState state = icon.getConstantState();
+            update.setIcon(state != null ? state.newDrawable(getResources()).mutate() : icon);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            update.setIconColorFilter(ivIcon.getColorFilter());
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && flBackground.getBackground() instanceof ColorDrawable) {
+            update.setBackgroundColorInt(((ColorDrawable) flBackground.getBackground()).getColor());
+        }
+
+        return update;
+    }
+
+    /**
+     * Replaces the title of the showing Alert, hiding it if empty.
+     *
+     * @param title the title
+     */
+    void replaceTitle(@Nullable final CharSequence title) {
+        if (!TextUtils.isEmpty(title)) {
+            swapText(ensureTitle(), title);
+        } else if (tvTitle != null) {
+            tvTitle.setVisibility(GONE);
+        }
+    }
+
+    /**
+     * Replaces the text of the showing Alert, hiding it if empty.
+     *
+     * @param text the text
+     */
+    void replaceText(@Nullable final CharSequence text) {
+        if (!TextUtils.isEmpty(text)) {
+            swapText(tvText, text);
+        } else {
+            tvText.setVisibility(GONE);
+        }
+    }
+
+    private static void swapText(@NonNull final TextView view, @NonNull final CharSequence text) {
+        if (view.getVisibility() != VISIBLE) {
+            view.setVisibility(VISIBLE);
+            view.setText(text);
+            return;
+        }
+        if (TextUtils.equals(view.getText(), text)) {
+            return;
+        }
+
+        final ViewGroup.LayoutParams lp = view.getLayoutParams();
+        if (view.getLayout() == null || lp.width != LayoutParams.WRAP_CONTENT) {
+            view.setText(text);
+            return;
+        }
+
+        //Pinned to its current width, the TextView only asks for a layout if its height changes.
+        //AlertLayout measures the column itself, so the next layout pass ignores the pinned width
+        lp.width = view.getWidth();
+        try {
+            view.setText(text);
+        } finally {
+            lp.width = LayoutParams.WRAP_CONTENT;
+        }
+    }
+
+    /**
+     * Fades the content out, applies a change and fades it back in. The bar itself stays put.
+     *
+     * @param change the change
+     */
+    void crossfadeContent(@NonNull final Runnable change) {
+        finishCrossfade();
+
+        final long half = getResources().getInteger(android.R.integer.config_shortAnimTime) / 2;
+        pendingCrossfade = change;
+
+        boolean armed = false;
+        for (final View view : getContentViews()) {
+            if (view == null || view.getVisibility() != VISIBLE) {
+                continue;
+            }
+
+            final ViewPropertyAnimatorCompat fadeOut = ViewCompat.animate(view).alpha(0f).setDuration(half);
+            if (!armed) {
+                armed = true;
+                fadeOut.withEndAction(new Runnable() {
+                    @Override
+                    public void run() {
+                        fadeContentIn(half);
+                    }
+                });
+            }
+        }
+
+        //Nothing visible to fade out
+        if (!armed) {
+            finishCrossfade();
+        }
+    }
+
+    private void fadeContentIn(final long duration) {
+        final Runnable change = pendingCrossfade;
+        if (change == null) {
+            return;
+        }
+
+        pendingCrossfade = null;
+        change.run();
+
+        for (final View view : getContentViews()) {
+            if (view != null) {
+                ViewCompat.animate(view).alpha(1f).setDuration(duration);
+            }
+        }
+    }
+
+    //Jumps a running crossfade to its end
+    private void finishCrossfade() {
+        final Runnable change = pendingCrossfade;
+        cancelCrossfade();
+
+        if (change != null) {
+            change.run();
+        }
+    }
+
+    private void cancelCrossfade() {
+        pendingCrossfade = null;
+
+        for (final View view : getContentViews()) {
+            if (view != null) {
+                ViewCompat.animate(view).cancel();
+                ViewCompat.setAlpha(view, 1f);
+            }
+        }
+    }
+
+    private View[] getContentViews() {
+        return new View[]{ivIcon, tvTitle, tvText, lvIcon};
+    }
+
+    /**
+     * Is the exit animation running, or has it already finished.
+     *
+     * @return the boolean
+     */
+    boolean isHiding() {
+        return hiding;
+    }
+
+    // Re-arm the enter animation, its listener is dropped on detach
+    private void armEnterAnimation() {
+        hiding = false;
+        slideInAnimation.reset();
+        slideInAnimation.setAnimationListener(this);
+        setAnimation(slideInAnimation);
     }
 
     /* Setters and Getters */
@@ -315,7 +1079,16 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param color the color
      */
     public void setIvIconColor(@ColorInt final int color) {
-        ivIcon.setColorFilter(color);
+        setIvIconColorFilter(AlertIconCache.colorFilter(color));
+    }
+
+    /**
+     * Sets the color filter of the icon.
+     *
+     * @param filter the filter
+     */
+    void setIvIconColorFilter(@Nullable final ColorFilter filter) {
+        ivIcon.setColorFilter(filter);
     }
 
     /**
@@ -324,7 +1097,12 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param color the color
      */
     public void setLvIconColor(@ColorInt final int color) {
-        lvIcon.setColorFilter(color);
+        if (lvIcon != null) {
+            lvIcon.setColorFilter(AlertIconCache.colorFilter(color));
+        } else {
+            pendingSecondIconColorSet = true;
+            pendingSecondIconColor = color;
+        }
     }
 
     /**
@@ -373,7 +1151,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @return the content gravity
      */
     public int getContentGravity() {
-        return ((LayoutParams) rlContainer.getLayoutParams()).gravity;
+        return flBackground.getContentGravity();
     }
 
     /**
@@ -382,8 +1160,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param barHeight the bar height
      */
     public void setBarHeight(final int barHeight) {
-        ((LayoutParams) rlContainer.getLayoutParams()).height = barHeight;
-        rlContainer.requestLayout();
+        flBackground.setContentHeight(barHeight);
     }
 
     /**
@@ -392,8 +1169,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param barWidth the bar width
      */
     public void setBarWidth(final int barWidth) {
-        ((LayoutParams) rlContainer.getLayoutParams()).width = barWidth;
-        rlContainer.requestLayout();
+        flBackground.setContentWidth(barWidth);
     }
 
     /**
@@ -412,8 +1188,122 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param contentGravity the content gravity
      */
     public void setContentGravity(final int contentGravity) {
-        ((LayoutParams) rlContainer.getLayoutParams()).gravity = contentGravity;
-        rlContainer.requestLayout();
+        flBackground.setContentGravity(contentGravity);
+    }
+
+    /**
+     * Applies a theme: its background, icon color, title and text styles and progress color.
+     *
+     * @param theme the theme
+     */
+    public void setTheme(@NonNull final AlertTheme theme) {
+        theme.applyTo(this);
+    }
+
+    /**
+     * Sets the theme the title is styled with, applied now or once the title is created. Takes
+     * over from any appearance or typeface set before it.
+     *
+     * @param theme the theme
+     */
+    void setTitleTheme(@NonNull final AlertTheme theme) {
+        titleTypefacePath = null;
+        if (tvTitle != null) {
+            theme.applyTitle(tvTitle);
+        } else {
+            titleTheme = theme;
+            pendingTitleAppearance = 0;
+            pendingTitleTypeface = null;
+        }
+    }
+
+    /**
+     * Sets the theme the text is styled with. Takes over from any typeface set before it.
+     *
+     * @param theme the theme
+     */
+    void setTextTheme(@NonNull final AlertTheme theme) {
+        textTypefacePath = null;
+        theme.applyText(tvText);
+    }
+
+    /**
+     * Starts a batch of visual properties, applied in one go by {@link AlertStyle#apply()}.
+     *
+     * @return the style
+     */
+    public AlertStyle editStyle() {
+        return new AlertStyle(this);
+    }
+
+    /**
+     * Sets the bar size, margin and content gravity with a single layout request.
+     *
+     * @param barWidth       the bar width
+     * @param barHeight      the bar height
+     * @param barMargin      the bar margin
+     * @param contentGravity the content gravity
+     */
+    void setBarLayout(final int barWidth, final int barHeight, final int barMargin, final int contentGravity) {
+        ((LayoutParams) flBackground.getLayoutParams()).topMargin = barMargin;
+        flBackground.setContentBox(barWidth, barHeight, contentGravity);
+    }
+
+    /**
+     * Gets bar width.
+     *
+     * @return the bar width
+     */
+    int getBarWidth() {
+        return flBackground.getContentWidth();
+    }
+
+    /**
+     * Gets bar height.
+     *
+     * @return the bar height
+     */
+    int getBarHeight() {
+        return flBackground.getContentHeight();
+    }
+
+    /**
+     * Gets bar margin.
+     *
+     * @return the bar margin
+     */
+    int getBarMargin() {
+        return ((LayoutParams) flBackground.getLayoutParams()).topMargin;
+    }
+
+    /**
+     * Is an icon still being decoded for the Alert.
+     *
+     * @return the boolean
+     */
+    @VisibleForTesting
+    boolean isIconPending() {
+        return iconRequest != null;
+    }
+
+    /**
+     * Gets the number of measure passes the bar took since the Alert was attached.
+     *
+     * @return the count
+     */
+    @VisibleForTesting
+    int getMeasurePassCount() {
+        return flBackground.getMeasurePassCount();
+    }
+
+    /**
+     * Gets the number of layout passes the bar took since the Alert was attached.
+     *
+     * @return the count
+     */
+    @VisibleForTesting
+    int getLayoutPassCount() {
+        return flBackground.getLayoutPassCount();
     }
 
     /**
@@ -438,7 +1328,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @return the title
      */
     public TextView getTitle() {
-        return tvTitle;
+        return ensureTitle();
     }
 
     /**
@@ -447,8 +1337,17 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param title the title
      */
     public void setTitle(@NonNull final String title) {
+        setTitle((CharSequence) title);
+    }
+
+    /**
+     * Sets title, which may be styled.
+     *
+     * @param title the title
+     */
+    public void setTitle(@NonNull final CharSequence title) {
         if (!TextUtils.isEmpty(title)) {
-            tvTitle.setVisibility(VISIBLE);
+            ensureTitle().setVisibility(VISIBLE);
             tvTitle.setText(title);
         }
     }
@@ -459,10 +1358,10 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param textAppearance the text appearance
      */
     public void setTitleAppearance(@StyleRes final int textAppearance) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            tvTitle.setTextAppearance(textAppearance);
+        if (tvTitle != null) {
+            AlertViewFactory.applyTextAppearance(tvTitle, textAppearance);
         } else {
-            tvTitle.setTextAppearance(tvTitle.getContext(), textAppearance);
+            pendingTitleAppearance = textAppearance;
         }
     }
 
@@ -472,7 +1371,35 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param typeface the typeface
      */
     public void setTitleTypeface(@NonNull final Typeface typeface) {
-        tvTitle.setTypeface(typeface);
+        titleTypefacePath = null;
+        applyTitleTypeface(typeface);
+    }
+
+    /**
+     * Sets title typeface from an asset, loaded in the background through the
+     * {@link AlertTypefaceCache}. The title keeps its current font until the typeface is ready.
+     *
+     * @param assetPath the asset path
+     */
+    public void setTitleTypeface(@NonNull final String assetPath) {
+        titleTypefacePath = assetPath;
+        AlertTypefaceCache.load(getContext(), assetPath, new AlertTypefaceCache.Callback() {
+            @Override
+            public void onTypefaceLoaded(@NonNull final Typeface typeface) {
+                //Dropped if the Alert was recycled or given another font meanwhile
+                if (assetPath.equals(titleTypefacePath)) {
+                    applyTitleTypeface(typeface);
+                }
+            }
+        });
+    }
+
+    private void applyTitleTypeface(@NonNull final Typeface typeface) {
+        if (tvTitle != null) {
+            tvTitle.setTypeface(typeface);
+        } else {
+            pendingTitleTypeface = typeface;
+        }
     }
 
     /**
@@ -481,9 +1408,28 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param typeface the typeface
      */
     public void setTextTypeface(@NonNull final Typeface typeface) {
+        textTypefacePath = null;
         tvText.setTypeface(typeface);
     }
 
+    /**
+     * Sets text typeface from an asset, loaded in the background through the
+     * {@link AlertTypefaceCache}. The text keeps its current font until the typeface is ready.
+     *
+     * @param assetPath the asset path
+     */
+    public void setTextTypeface(@NonNull final String assetPath) {
+        textTypefacePath = assetPath;
+        AlertTypefaceCache.load(getContext(), assetPath, new AlertTypefaceCache.Callback() {
+            @Override
+            public void onTypefaceLoaded(@NonNull final Typeface typeface) {
+                if (assetPath.equals(textTypefacePath)) {
+                    tvText.setTypeface(typeface);
+                }
+            }
+        });
+    }
+
     /**
      * Gets text.
      *
@@ -499,6 +1445,15 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param text the text
      */
     public void setText(final String text) {
+        setText((CharSequence) text);
+    }
+
+    /**
+     * Sets text, which may be styled.
+     *
+     * @param text the text
+     */
+    public void setText(final CharSequence text) {
         if (!TextUtils.isEmpty(text)) {
             tvText.setVisibility(VISIBLE);
             tvText.setText(text);
@@ -511,11 +1466,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param textAppearance the text appearance
      */
     public void setTextAppearance(@StyleRes final int textAppearance) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            tvText.setTextAppearance(textAppearance);
-        } else {
-            tvText.setTextAppearance(tvText.getContext(), textAppearance);
-        }
+        AlertViewFactory.applyTextAppearance(tvText, textAppearance);
     }
 
     /**
@@ -533,7 +1484,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param iconId the icon id
      */
     public void setIcon(@DrawableRes final int iconId) {
-        ivIcon.setImageDrawable(AppCompatResources.getDrawable(getContext(), iconId));
+        ivIcon.setImageDrawable(AlertIconCache.get(getContext(), iconId, getIconSize()));
     }
 
     /**
@@ -542,7 +1493,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param bitmap the bitmap
      */
     public void setIcon(@NonNull final Bitmap bitmap) {
-        ivIcon.setImageBitmap(bitmap);
+        ivIcon.setImageDrawable(AlertIconCache.get(getContext(), bitmap, getIconSize()));
     }
 
     /**
@@ -554,6 +1505,39 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
         ivIcon.setImageDrawable(drawable);
     }
 
+    /**
+     * Sets icon, decoded in the background at the icon's size. The current icon is shown until
+     * the image is ready, and the decode is cancelled if the Alert is hidden first.
+     *
+     * @param uri the uri, e.g. of a file or content provider
+     */
+    public void setIcon(@NonNull final Uri uri) {
+        cancelIconRequest();
+
+        //Keeps the icon's size through the swap, so that it only redraws
+        final IconSwapDrawable swap = new IconSwapDrawable(ivIcon.getDrawable(), getIconSize());
+        ivIcon.setImageDrawable(swap);
+
+        iconRequest = AlertIconLoader.load(getContext(), uri, getIconSize(), new AlertIconLoader.Callback() {
+            @Override
+            public void onIconLoaded(@Nullable final Bitmap bitmap) {
+                iconRequest = null;
+                if (bitmap != null) {
+                    swap.setDrawable(new BitmapDrawable(getResources(), bitmap));
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets icon, decoded in the background at the icon's size.
+     *
+     * @param file the file
+     */
+    public void setIcon(@NonNull final File file) {
+        setIcon(Uri.fromFile(file));
+    }
+
     /**
      * Show icon.
      *
@@ -576,7 +1560,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @return the second icon
      */
     public ImageView getSecondIcon() {
-        return lvIcon;
+        return ensureSecondIcon();
     }
 
     /**
@@ -585,7 +1569,8 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param iconId the icon id
      */
     public void setSecondIcon(@DrawableRes final int iconId) {
-        lvIcon.setImageDrawable(AppCompatResources.getDrawable(getContext(), iconId));
+        ensureSecondIcon().setVisibility(VISIBLE);
+        lvIcon.setImageDrawable(AlertIconCache.get(getContext(), iconId, getIconSize()));
     }
 
     /**
@@ -594,7 +1579,8 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param bitmap the bitmap
      */
     public void setSecondIcon(@NonNull final Bitmap bitmap) {
-        lvIcon.setImageBitmap(bitmap);
+        ensureSecondIcon().setVisibility(VISIBLE);
+        lvIcon.setImageDrawable(AlertIconCache.get(getContext(), bitmap, getIconSize()));
     }
 
     /**
@@ -603,6 +1589,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param drawable the drawable
      */
     public void setSecondIcon(@NonNull final Drawable drawable) {
+        ensureSecondIcon().setVisibility(VISIBLE);
         lvIcon.setImageDrawable(drawable);
     }
 
@@ -612,7 +1599,11 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param showIcon the show icon
      */
     public void showSecondIcon(final boolean showIcon) {
-        lvIcon.setVisibility(showIcon ? View.VISIBLE : View.GONE);
+        if (showIcon) {
+            ensureSecondIcon().setVisibility(View.VISIBLE);
+        } else if (lvIcon != null) {
+            lvIcon.setVisibility(View.GONE);
+        }
     }
 
     /**
@@ -642,6 +1633,17 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
         this.enableIconPulse = shouldPulse;
     }
 
+    /**
+     * Sets how many times the icon pulses. The pulse always stops when the Alert is hidden.
+     *
+     * @param cycles the number of pulses, or zero to pulse until hidden
+     */
+    public void setIconPulseCycles(final int cycles) {
+        stopIconPulse();
+        this.iconPulseCycles = Math.max(0, cycles);
+        this.iconPulse = null;
+    }
+
     /**
      * Sets enable infinite duration.
      *
@@ -666,7 +1668,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param color the color
      */
     public void setProgressColorRes(@ColorRes final int color) {
-        pbProgress.getProgressDrawable().setColorFilter(new LightingColorFilter(MUL, ContextCompat.getColor(getContext(), color)));
+        setProgressColorInt(ContextCompat.getColor(getContext(), color));
     }
 
     /**
@@ -675,7 +1677,8 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param color the color
      */
     public void setProgressColorInt(@ColorInt final int color) {
-        pbProgress.getProgressDrawable().setColorFilter(new LightingColorFilter(MUL, color));
+        progressColorFilter = AlertTheme.progressColorFilter(color);
+        ensureProgress().getProgressDrawable().setColorFilter(progressColorFilter);
     }
 
     /**
@@ -685,7 +1688,8 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      */
     @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
     public void setProgressIntermediateColor(@ColorInt final int color) {
-        pbProgress.setIndeterminateTintList(ColorStateList.valueOf(color));
+        progressTinted = true;
+        ensureProgress().setIndeterminateTintList(AlertTheme.colorStateList(color));
     }
 
     /**
@@ -695,7 +1699,27 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      */
     @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
     public void setProgressBackgroundTintColor(@ColorInt final int color) {
-        pbProgress.setBackgroundTintList(ColorStateList.valueOf(color));
+        progressTinted = true;
+        ensureProgress().setBackgroundTintList(AlertTheme.colorStateList(color));
+    }
+
+    /**
+     * Sets a determinate progress, e.g. of an upload, in place of the countdown. May be called from
+     * any thread and at any rate: only the latest value is drawn, at most once per frame.
+     *
+     * @param progress the progress, from 0 to 100
+     */
+    public void setProgress(@IntRange(from = 0, to = 100) final int progress) {
+        pendingProgress = Math.max(0, Math.min(100, progress));
+
+        if (progressUpdatePosted.compareAndSet(false, true)) {
+            //Views queue posts from other threads until attached, and may drop them before N
+            if (getWindowToken() != null) {
+                ViewCompat.postOnAnimation(this, progressUpdate);
+            } else {
+                MAIN_HANDLER.post(progressUpdate);
+            }
+        }
     }
 
     /**
@@ -704,7 +1728,7 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      * @param bol the bol
      */
     public void setProgressBarIntermediate(Boolean bol){
-        pbProgress.setIndeterminate(bol);
+        ensureProgress().setIndeterminate(bol);
     }
 
     /**
@@ -714,8 +1738,8 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
      */
     public void setProgressBarEnabled(Boolean bol){
         if (bol) {
-            pbProgress.setVisibility(VISIBLE);
-        } else {
+            ensureProgress().setVisibility(VISIBLE);
+        } else if (pbProgress != null) {
             pbProgress.setVisibility(GONE);
         }
     }
@@ -738,6 +1762,49 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
         this.onHideListener = listener;
     }
 
+    /**
+     * Sets the metrics listener for this Alert, in place of the global one.
+     *
+     * @param listener the listener
+     */
+    public void setMetricsListener(@Nullable final AlertMetricsListener listener) {
+        this.metricsListener = listener;
+    }
+
+    /**
+     * Sets whether the title and text are laid out in the background before the Alert is shown.
+     *
+     * @param precomputeText the precompute text
+     */
+    public void setPrecomputeText(final boolean precomputeText) {
+        this.precomputeText = precomputeText;
+    }
+
+    /**
+     * Is the text laid out in the background before the Alert is shown.
+     *
+     * @return the boolean
+     */
+    boolean isPrecomputeText() {
+        return precomputeText;
+    }
+
+    /**
+     * Lays out the title and text in the background if enabled, at the width they are expected to
+     * get in a full width bar, then runs an action. Must be called from the UI thread.
+     *
+     * @param onReady the action, run on the UI thread
+     */
+    void precomputeText(@NonNull final Runnable onReady) {
+        if (!precomputeText) {
+            onReady.run();
+            return;
+        }
+
+        final int width = flBackground.estimateColumnWidth(getResources().getDisplayMetrics().widthPixels);
+        AlertTextPrecomputer.precompute(new TextView[]{tvTitle, tvText}, width, onReady);
+    }
+
     /**
      * Sets vibration enabled.
      *
@@ -759,10 +1826,18 @@ public class Alert extends FrameLayout implements View.OnClickListener, Animatio
 
     @Override
     public void onTouch(final View view, final boolean touch) {
-        if (touch) {
-            removeCallbacks(runningAnimation);
-        } else {
-            startHideAnimation();
+        //Hold the countdown while the Alert is touched, then carry on with the time that was left
+        if (hideTask != null) {
+            if (touch) {
+                hideTask.pause();
+            } else {
+                hideTask.resume();
+
+                //The countdown stops asking for frames while paused
+                if (countdownDrawable != null) {
+                    countdownDrawable.invalidateSelf();
+                }
+            }
         }
     }
 }
\ No newline at end of file
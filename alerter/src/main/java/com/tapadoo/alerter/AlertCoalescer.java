@@ -0,0 +1,167 @@
+package com.tapadoo.alerter;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.view.View;
+import android.view.ViewParent;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+
+/**
+ * Coalesces duplicate Alerts into the one already showing.
+ * <p>
+ * Once a window is set, an Alert shown while an identical one is still visible doesn't replace it:
+ * the visible Alert counts the occurrence, drawn as "&times;N", and restarts its hide timer instead,
+ * without a new slide in or any relayout. Alerts are identical when they share a key, set with
+ * {@link Alerter#setCoalesceKey(String)}, or else the same title and text. Alerts with neither a
+ * title nor text, e.g. icon only or custom Alerts, are only coalesced by key. Duplicates are only
+ * folded into an Alert on screen where they would have been shown, not into one left behind in
+ * another Activity or window. The window slides: each duplicate extends it from the time it arrived.
+ * <p>
+ * The window may be set from any thread; visible Alerts are only tracked on the UI thread.
+ */
+public final class AlertCoalescer {
+
+    //Separates the title from the text in default keys
+    private static final char SEPARATOR = '\u0000';
+
+    private static volatile long window;
+
+    //UI thread only
+    private static final HashMap<String, Entry> VISIBLE = new HashMap<>();
+
+    private AlertCoalescer() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Sets how long after its last occurrence an Alert absorbs duplicates. Zero, the default,
+     * disables coalescing.
+     *
+     * @param milliseconds the window
+     */
+    public static void setWindow(final long milliseconds) {
+        if (milliseconds < 0) {
+            throw new IllegalArgumentException("Window cannot be negative!");
+        }
+
+        window = milliseconds;
+    }
+
+    /**
+     * Gets the window.
+     *
+     * @return the window, in milliseconds
+     */
+    public static long getWindow() {
+        return window;
+    }
+
+    /**
+     * Is coalescing enabled.
+     *
+     * @return the boolean
+     */
+    public static boolean isEnabled() {
+        return window > 0;
+    }
+
+    /**
+     * Builds the default key of an Alert from its title and text.
+     *
+     * @param title the title
+     * @param text  the text
+     * @return the key, or null if there is neither a title nor text to tell the Alert apart
+     */
+    @Nullable
+    static String keyOf(@Nullable final CharSequence title, @Nullable final CharSequence text) {
+        if (TextUtils.isEmpty(title) && TextUtils.isEmpty(text)) {
+            return null;
+        }
+
+        return (title != null ? title.toString() : "") + SEPARATOR + (text != null ? text.toString() : "");
+    }
+
+    /**
+     * Folds an occurrence into the visible Alert with the same key, if there is one in the same
+     * host. Must be called from the UI thread.
+     *
+     * @param key  the key
+     * @param host the host the occurrence would be shown in
+     * @return whether the occurrence was coalesced, in which case it mustn't be shown
+     */
+    static boolean coalesce(@NonNull final String key, @NonNull final AlertHost host) {
+        final Entry entry = VISIBLE.get(key);
+        if (entry == null) {
+            return false;
+        }
+
+        final Alert alert = entry.alert.get();
+        final long now = SystemClock.uptimeMillis();
+        if (alert == null || alert.isHiding() || now - entry.lastSeenAt > window) {
+            VISIBLE.remove(key);
+            return false;
+        }
+
+        //Left for the new Alert to replace as the tracked one
+        if (!host.equals(alert.getHost()) || !host.contains(alert) || !isOnScreen(alert)) {
+            return false;
+        }
+
+        entry.count++;
+        entry.lastSeenAt = now;
+        alert.onDuplicate(entry.count);
+
+        return true;
+    }
+
+    /**
+     * Tracks a newly shown Alert. Must be called from the UI thread.
+     *
+     * @param key   the key
+     * @param alert the alert
+     */
+    static void register(@NonNull final String key, @NonNull final Alert alert) {
+        VISIBLE.put(key, new Entry(alert));
+    }
+
+    /**
+     * Stops tracking an Alert once it is gone. Must be called from the UI thread.
+     *
+     * @param key   the key
+     * @param alert the alert
+     */
+    static void unregister(@NonNull final String key, @NonNull final Alert alert) {
+        final Entry entry = VISIBLE.get(key);
+        if (entry != null && entry.alert.get() == alert) {
+            VISIBLE.remove(key);
+        }
+    }
+
+    //Attached to its window, or about to be on the next traversal
+    private static boolean isOnScreen(final Alert alert) {
+        if (alert.getWindowToken() != null) {
+            return true;
+        }
+
+        final ViewParent parent = alert.getParent();
+        return parent instanceof View && ((View) parent).getWindowToken() != null;
+    }
+
+    /**
+     * A visible Alert and its occurrences
+     */
+    private static final class Entry {
+
+        private final WeakReference<Alert> alert;
+        private int count = 1;
+        private long lastSeenAt = SystemClock.uptimeMillis();
+
+        Entry(@NonNull final Alert alert) {
+            this.alert = new WeakReference<>(alert);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.tapadoo.alerter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.IntDef;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayDeque;
+
+/**
+ * Flood control for bursts of Alerts.
+ * <p>
+ * Once a policy is set, {@link Alerter#show()} and {@link Alerter#show(android.app.Activity, AlertSpec)}
+ * go through here first: Alerts beyond what the policy lets through are dropped before they touch
+ * the view hierarchy, and the visible Alert is only replaced once the next one is actually shown.
+ * Specs are checked before their Alert is built; Alerts built by an {@link Alerter} are released
+ * like hidden ones when dropped.
+ * Haptic feedback and enter animations have rate limits of their own, which apply whatever the
+ * policy. Every suppression is counted.
+ * <p>
+ * Offering Alerts is thread-safe; Alerts are always shown on the UI thread.
+ */
+public final class AlertFloodControl {
+
+    /**
+     * No flood control, every Alert is shown. The default
+     */
+    public static final int POLICY_NONE = 0;
+
+    /**
+     * At most one Alert per interval. Alerts arriving in between replace each other, so the
+     * latest one is shown once the interval is up
+     */
+    public static final int POLICY_LATEST_WINS = 1;
+
+    /**
+     * At most one Alert per interval. Alerts arriving in between are dropped
+     */
+    public static final int POLICY_DROP_NEWEST = 2;
+
+    /**
+     * At most one Alert per interval. Alerts arriving in between wait in a buffer, which drops its
+     * oldest Alert when full
+     */
+    public static final int POLICY_DROP_OLDEST = 3;
+
+    /**
+     * Alerts are shown right away while tokens are left, and dropped otherwise. The bucket allows
+     * a burst of its capacity, and refills one token per interval
+     */
+    public static final int POLICY_TOKEN_BUCKET = 4;
+
+    /**
+     * The flood control policies
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({POLICY_NONE, POLICY_LATEST_WINS, POLICY_DROP_NEWEST, POLICY_DROP_OLDEST, POLICY_TOKEN_BUCKET})
+    public @interface Policy {
+    }
+
+    private static final long DEFAULT_INTERVAL = 500;
+
+    private static final int DEFAULT_BUFFER_SIZE = 4;
+
+    private static final int DEFAULT_BUCKET_CAPACITY = 3;
+
+    private static final Object LOCK = new Object();
+
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+
+    private static final Runnable RELEASE = new Runnable() {
+        @Override
+        public void run() {
+            release();
+        }
+    };
+
+    //Guarded by LOCK
+    private static final ArrayDeque<Offer> PENDING = new ArrayDeque<>();
+    private static int policy = POLICY_NONE;
+    private static long interval = DEFAULT_INTERVAL;
+    private static int bufferSize = DEFAULT_BUFFER_SIZE;
+    private static int bucketCapacity = DEFAULT_BUCKET_CAPACITY;
+    private static double tokens = DEFAULT_BUCKET_CAPACITY;
+    private static long lastRefillAt;
+    private static long lastReleaseAt = Long.MIN_VALUE / 2;
+    private static boolean releaseScheduled;
+    private static long suppressedAlerts;
+
+    private static volatile long hapticInterval;
+    private static long lastHapticAt = Long.MIN_VALUE / 2;
+    private static long suppressedHaptics;
+
+    private static volatile long enterAnimationInterval;
+    private static long lastEnterAnimationAt = Long.MIN_VALUE / 2;
+    private static long skippedEnterAnimations;
+
+    private AlertFloodControl() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Sets the policy. Alerts waiting under the previous policy are dropped.
+     *
+     * @param policy the policy, e.g. {@link #POLICY_LATEST_WINS}
+     */
+    public static void setPolicy(@Policy final int policy) {
+        synchronized (LOCK) {
+            AlertFloodControl.policy = policy;
+            dropPending();
+            tokens = bucketCapacity;
+            lastRefillAt = SystemClock.uptimeMillis();
+        }
+    }
+
+    /**
+     * Gets the policy.
+     *
+     * @return the policy
+     */
+    @Policy
+    public static int getPolicy() {
+        synchronized (LOCK) {
+            return policy;
+        }
+    }
+
+    /**
+     * Is a policy other than {@link #POLICY_NONE} set.
+     *
+     * @return the boolean
+     */
+    public static boolean isEnabled() {
+        return getPolicy() != POLICY_NONE;
+    }
+
+    /**
+     * Sets the minimum time between two Alerts, or between two tokens for the token bucket.
+     * Defaults to 500ms.
+     *
+     * @param milliseconds the interval
+     */
+    public static void setInterval(final long milliseconds) {
+        if (milliseconds < 0) {
+            throw new IllegalArgumentException("Interval cannot be negative!");
+        }
+
+        synchronized (LOCK) {
+            interval = milliseconds;
+        }
+    }
+
+    /**
+     * Sets how many Alerts {@link #POLICY_DROP_OLDEST} keeps waiting. Defaults to 4.
+     *
+     * @param size the buffer size
+     */
+    public static void setBufferSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1!");
+        }
+
+        synchronized (LOCK) {
+            bufferSize = size;
+        }
+    }
+
+    /**
+     * Sets the burst allowed by {@link #POLICY_TOKEN_BUCKET}. Defaults to 3.
+     *
+     * @param capacity the bucket capacity
+     */
+    public static void setBucketCapacity(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Bucket capacity must be at least 1!");
+        }
+
+        synchronized (LOCK) {
+            bucketCapacity = capacity;
+            tokens = Math.min(tokens, capacity);
+        }
+    }
+
+    /**
+     * Sets the minimum time between two haptic feedbacks, whatever the policy. Zero, the
+     * default, doesn't limit them.
+     *
+     * @param milliseconds the interval
+     */
+    public static void setHapticInterval(final long milliseconds) {
+        hapticInterval = Math.max(0, milliseconds);
+    }
+
+    /**
+     * Sets the minimum time between two enter animations, whatever the policy. Alerts shown in
+     * between appear without one. Zero, the default, doesn't limit them.
+     *
+     * @param milliseconds the interval
+     */
+    public static void setEnterAnimationInterval(final long milliseconds) {
+        enterAnimationInterval = Math.max(0, milliseconds);
+    }
+
+    /**
+     * Gets the number of Alerts dropped by the policy.
+     *
+     * @return the count
+     */
+    public static long getSuppressedAlertCount() {
+        synchronized (LOCK) {
+            return suppressedAlerts;
+        }
+    }
+
+    /**
+     * Gets the number of haptic feedbacks skipped by the haptic rate limit.
+     *
+     * @return the count
+     */
+    public static long getSuppressedHapticCount() {
+        synchronized (LOCK) {
+            return suppressedHaptics;
+        }
+    }
+
+    /**
+     * Gets the number of enter animations skipped by the enter animation rate limit.
+     *
+     * @return the count
+     */
+    public static long getSkippedEnterAnimationCount() {
+        synchronized (LOCK) {
+            return skippedEnterAnimations;
+        }
+    }
+
+    /**
+     * Resets every counter to zero.
+     */
+    public static void resetCounters() {
+        synchronized (LOCK) {
+            suppressedAlerts = 0;
+            suppressedHaptics = 0;
+            skippedEnterAnimations = 0;
+        }
+    }
+
+    /**
+     * Offers an Alert to the policy.
+     *
+     * @param show  shows the Alert, run on the UI thread if the policy lets it through
+     * @param alert the Alert already built for it, released if the policy drops it, or null
+     */
+    static void offer(@NonNull final Runnable show, @Nullable final Alert alert) {
+        final Offer offer = new Offer(show, alert);
+
+        synchronized (LOCK) {
+            final long now = SystemClock.uptimeMillis();
+
+            switch (policy) {
+                case POLICY_LATEST_WINS:
+                    suppressedAlerts += PENDING.size();
+                    dropPending();
+                    PENDING.add(offer);
+                    scheduleRelease(now);
+                    return;
+
+                case POLICY_DROP_NEWEST:
+                    if (!PENDING.isEmpty() || releaseScheduled || now - lastReleaseAt < interval) {
+                        suppressedAlerts++;
+                        drop(offer);
+                        return;
+                    }
+                    PENDING.add(offer);
+                    scheduleRelease(now);
+                    return;
+
+                case POLICY_DROP_OLDEST:
+                    if (PENDING.size() >= bufferSize) {
+                        drop(PENDING.pollFirst());
+                        suppressedAlerts++;
+                    }
+                    PENDING.add(offer);
+                    scheduleRelease(now);
+                    return;
+
+                case POLICY_TOKEN_BUCKET:
+                    refill(now);
+                    if (tokens < 1) {
+                        suppressedAlerts++;
+                        drop(offer);
+                        return;
+                    }
+                    tokens -= 1;
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        HANDLER.post(show);
+    }
+
+    /**
+     * Takes a haptic feedback slot. Must be called from the UI thread.
+     *
+     * @return whether haptic feedback may be performed
+     */
+    static boolean acquireHaptic() {
+        final long limit = hapticInterval;
+        final long now = SystemClock.uptimeMillis();
+
+        synchronized (LOCK) {
+            if (limit > 0 && now - lastHapticAt < limit) {
+                suppressedHaptics++;
+                return false;
+            }
+
+            lastHapticAt = now;
+            return true;
+        }
+    }
+
+    /**
+     * Takes an enter animation slot. Must be called from the UI thread.
+     *
+     * @return whether the enter animation may run
+     */
+    static boolean acquireEnterAnimation() {
+        final long limit = enterAnimationInterval;
+        final long now = SystemClock.uptimeMillis();
+
+        synchronized (LOCK) {
+            if (limit > 0 && now - lastEnterAnimationAt < limit) {
+                skippedEnterAnimations++;
+                return false;
+            }
+
+            lastEnterAnimationAt = now;
+            return true;
+        }
+    }
+
+    //Called with LOCK held
+    private static void refill(final long now) {
+        if (interval <= 0) {
+            tokens = bucketCapacity;
+        } else {
+            tokens = Math.min(bucketCapacity, tokens + (now - lastRefillAt) / (double) interval);
+        }
+        lastRefillAt = now;
+    }
+
+    //Called with LOCK held
+    private static void dropPending() {
+        for (final Offer offer : PENDING) {
+            drop(offer);
+        }
+        PENDING.clear();
+    }
+
+    //Releases a dropped Alert on the UI thread, as if it had been hidden
+    private static void drop(@Nullable final Offer offer) {
+        if (offer == null || offer.alert == null) {
+            return;
+        }
+
+        HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                offer.alert.onDropped();
+            }
+        });
+    }
+
+    //Called with LOCK held
+    private static void scheduleRelease(final long now) {
+        if (!releaseScheduled) {
+            releaseScheduled = true;
+            HANDLER.postAtTime(RELEASE, Math.max(now, lastReleaseAt + interval));
+        }
+    }
+
+    private static void release() {
+        final Offer offer;
+
+        synchronized (LOCK) {
+            releaseScheduled = false;
+            offer = PENDING.pollFirst();
+            if (offer == null) {
+                return;
+            }
+
+            lastReleaseAt = SystemClock.uptimeMillis();
+            if (!PENDING.isEmpty()) {
+                scheduleRelease(lastReleaseAt);
+            }
+        }
+
+        offer.show.run();
+    }
+
+    /**
+     * An Alert offered to the policy
+     */
+    private static final class Offer {
+
+        final Runnable show;
+        final Alert alert;
+
+        Offer(final Runnable show, final Alert alert) {
+            this.show = show;
+            this.alert = alert;
+        }
+    }
+}
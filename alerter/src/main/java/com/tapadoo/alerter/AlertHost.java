@@ -0,0 +1,253 @@
+package com.tapadoo.alerter;
+
+import android.app.Activity;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RequiresApi;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where Alerts are shown.
+ * <p>
+ * By default Alerts are added to the Activity Window's DecorView, which lays out the whole
+ * window on every show and hide. The other built-in hosts avoid that: {@link #overlay(Activity)}
+ * draws the Alert in the DecorView's overlay, {@link #container(ViewGroup)} adds it to a
+ * ViewGroup of your choosing, e.g. a Dialog or Fragment's root, and {@link #panel(Activity)} gives
+ * it a panel window of its own.
+ * <p>
+ * Every Alert is added and removed through its host, so the host always knows what it is
+ * showing without walking the view tree. Alerts whose window goes away under them, e.g. with
+ * their Activity, are removed without being hidden. Views are only touched on the UI thread; the
+ * list of live Alerts may be read from any thread.
+ */
+public abstract class AlertHost {
+
+    private static final String TAG = AlertHost.class.getSimpleName();
+
+    //Guarded by this
+    private final List<View> alerts = new ArrayList<>(1);
+
+    /**
+     * Shows Alerts in the Activity Window's DecorView. The default.
+     *
+     * @param activity the activity
+     * @return the host
+     */
+    @NonNull
+    public static AlertHost decorView(@NonNull final Activity activity) {
+        return new DecorAlertHost(activity);
+    }
+
+    /**
+     * Shows Alerts in the DecorView's overlay, so that showing and hiding them never lays out the
+     * window's content. Overlays only draw, so these Alerts can't be clicked or swiped away, and
+     * are laid out once when shown.
+     *
+     * @param activity the activity
+     * @return the host
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.JELLY_BEAN_MR2)
+    public static AlertHost overlay(@NonNull final Activity activity) {
+        return new OverlayAlertHost(activity);
+    }
+
+    /**
+     * Shows Alerts in a ViewGroup, e.g. the root of a Dialog, Fragment or bottom sheet. A
+     * FrameLayout, or a layout which stacks its children like one, works best.
+     *
+     * @param container the container
+     * @return the host
+     */
+    @NonNull
+    public static AlertHost container(@NonNull final ViewGroup container) {
+        return new ContainerAlertHost(container);
+    }
+
+    /**
+     * Shows Alerts in a panel window of their own, above the Activity's window, so that the
+     * Activity's views are never laid out for them.
+     *
+     * @param activity the activity
+     * @return the host
+     */
+    @NonNull
+    public static AlertHost panel(@NonNull final Activity activity) {
+        return new PanelAlertHost(activity);
+    }
+
+    /**
+     * Gets the Activity this host shows Alerts in, used to find its Alerts from
+     * {@link Alerter#clearCurrent(Activity)} and {@link Alerter#isShowing(Activity)}.
+     *
+     * @return the activity, or null if it is gone or unknown
+     */
+    @Nullable
+    public abstract Activity getActivity();
+
+    /**
+     * Adds an Alert's view. Called on the UI thread.
+     *
+     * @param alert the alert
+     * @return whether the Alert was added
+     */
+    protected abstract boolean onAddAlert(@NonNull View alert);
+
+    /**
+     * Removes an Alert's view. Called on the UI thread.
+     *
+     * @param alert the alert
+     */
+    protected abstract void onRemoveAlert(@NonNull View alert);
+
+    /**
+     * Is an Alert showing in this host.
+     *
+     * @return the boolean
+     */
+    public final synchronized boolean isShowing() {
+        return !alerts.isEmpty();
+    }
+
+    /**
+     * Gets the most recently added Alert still in this host.
+     *
+     * @return the Alert, or null
+     */
+    @Nullable
+    final synchronized View current() {
+        return alerts.isEmpty() ? null : alerts.get(alerts.size() - 1);
+    }
+
+    /**
+     * Is the Alert in this host.
+     *
+     * @param alert the alert
+     * @return the boolean
+     */
+    final synchronized boolean contains(@NonNull final View alert) {
+        return alerts.contains(alert);
+    }
+
+    /**
+     * Adds an Alert, if it isn't attached already. Must be called from the UI thread.
+     *
+     * @param alert the alert
+     * @return whether the Alert was added
+     */
+    final boolean add(@NonNull final View alert) {
+        if (alert.getParent() != null || !onAddAlert(alert)) {
+            return false;
+        }
+
+        synchronized (this) {
+            alerts.add(alert);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes an Alert. Must be called from the UI thread.
+     *
+     * @param alert the alert
+     * @return whether the Alert was in this host
+     */
+    final boolean remove(@NonNull final View alert) {
+        final boolean removed;
+        synchronized (this) {
+            removed = alerts.remove(alert);
+        }
+
+        if (removed) {
+            onRemoveAlert(alert);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Fades out and removes every Alert in this host. Must be called from the UI thread.
+     */
+    final void clear() {
+        final View[] showing;
+        synchronized (this) {
+            if (alerts.isEmpty()) {
+                return;
+            }
+
+            showing = alerts.toArray(new View[alerts.size()]);
+        }
+
+        for (final View alert : showing) {
+            if (alert.getWindowToken() != null) {
+                ViewCompat.animate(alert).alpha(0).withEndAction(getRemoveViewRunnable(alert));
+            } else {
+                onRemoved(alert);
+            }
+        }
+    }
+
+    /**
+     * Removes an Alert at once, without hiding it, once the window it is shown in goes away.
+     * Must be called from the UI thread.
+     *
+     * @param alert the alert
+     */
+    final void discard(@NonNull final View alert) {
+        onRemoved(alert);
+    }
+
+    /**
+     * Removes every Alert in this host at once, without hiding them. Must be called from the UI
+     * thread.
+     */
+    final void discardAll() {
+        final View[] showing;
+        synchronized (this) {
+            showing = alerts.toArray(new View[alerts.size()]);
+        }
+
+        for (final View alert : showing) {
+            onRemoved(alert);
+        }
+    }
+
+    @NonNull
+    private Runnable getRemoveViewRunnable(final View alert) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    onRemoved(alert);
+                } catch (Exception ex) {
+                    AlerterLog.e(TAG, "Unable to remove the Alert", ex);
+                }
+            }
+        };
+    }
+
+    //Only once, however many ways the Alert is removed by
+    private void onRemoved(final View alert) {
+        if (remove(alert) && alert instanceof Alert) {
+            ((Alert) alert).onRemoved();
+        }
+    }
+
+    /**
+     * Removes a view from whichever ViewGroup it is in.
+     *
+     * @param view the view
+     */
+    static void removeFromParent(@NonNull final View view) {
+        if (view.getParent() instanceof ViewGroup) {
+            ((ViewGroup) view.getParent()).removeView(view);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Thread-safe registry of the {@link AlertHost}s in use, grouped by Activity.
+ * <p>
+ * Hosts only hold their Activity weakly. Once an Activity is destroyed, its hosts are forgotten and
+ * the Alerts still in them removed at once, so that neither outlives its window.
+ */
+final class AlertHosts {
+
+    private static final AlertHost[] NONE = new AlertHost[0];
+
+    private static final Map<Activity, List<AlertHost>> HOSTS = new WeakHashMap<>();
+
+    //Guarded by HOSTS
+    private static boolean callbacksRegistered;
+
+    private AlertHosts() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Gets the default host for an Activity, its DecorView.
+     *
+     * @param activity the activity
+     * @return the host
+     */
+    @NonNull
+    static AlertHost of(@NonNull final Activity activity) {
+        return register(new DecorAlertHost(activity));
+    }
+
+    /**
+     * Registers a host, returning the equivalent host registered before it, if any, so that
+     * every Alert shown in the same place is tracked by the same host.
+     *
+     * @param host the host
+     * @return the registered host
+     */
+    @NonNull
+    static AlertHost register(@NonNull final AlertHost host) {
+        final Activity activity = host.getActivity();
+        if (activity == null) {
+            return host;
+        }
+
+        synchronized (HOSTS) {
+            registerCallbacks(activity);
+
+            List<AlertHost> hosts = HOSTS.get(activity);
+            if (hosts == null) {
+                hosts = new ArrayList<>(1);
+                HOSTS.put(activity, hosts);
+            }
+
+            final int index = hosts.indexOf(host);
+            if (index >= 0) {
+                return hosts.get(index);
+            }
+
+            hosts.add(host);
+            return host;
+        }
+    }
+
+    /**
+     * Forgets a host, e.g. once the view tree it showed Alerts in has gone away.
+     *
+     * @param host the host
+     */
+    static void unregister(@NonNull final AlertHost host) {
+        final Activity activity = host.getActivity();
+        if (activity == null) {
+            return;
+        }
+
+        synchronized (HOSTS) {
+            final List<AlertHost> hosts = HOSTS.get(activity);
+            if (hosts != null && hosts.remove(host) && hosts.isEmpty()) {
+                HOSTS.remove(activity);
+            }
+        }
+    }
+
+    /**
+     * Gets the hosts registered for an Activity.
+     *
+     * @param activity the activity
+     * @return a snapshot of the hosts
+     */
+    @NonNull
+    static AlertHost[] registered(@NonNull final Activity activity) {
+        synchronized (HOSTS) {
+            final List<AlertHost> hosts = HOSTS.get(activity);
+            return hosts != null ? hosts.toArray(new AlertHost[hosts.size()]) : NONE;
+        }
+    }
+
+    /**
+     * Gets every registered host.
+     *
+     * @return a snapshot of the hosts
+     */
+    @NonNull
+    static AlertHost[] all() {
+        synchronized (HOSTS) {
+            final List<AlertHost> all = new ArrayList<>();
+            for (final List<AlertHost> hosts : HOSTS.values()) {
+                all.addAll(hosts);
+            }
+
+            return all.toArray(new AlertHost[all.size()]);
+        }
+    }
+
+    //Called on the UI thread while the Activity's window is still there to remove Alerts from
+    private static void onDestroyed(final Activity activity) {
+        final List<AlertHost> hosts;
+        synchronized (HOSTS) {
+            hosts = HOSTS.remove(activity);
+        }
+
+        if (hosts != null) {
+            for (final AlertHost host : hosts) {
+                host.discardAll();
+            }
+        }
+    }
+
+    //Called with HOSTS held. Before Ice Cream Sandwich, Alerts leave their host when they are detached
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static void registerCallbacks(final Activity activity) {
+        if (callbacksRegistered || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            return;
+        }
+
+        final Application application = activity.getApplication();
+        if (application == null) {
+            return;
+        }
+
+        callbacksRegistered = true;
+        application.registerActivityLifecycleCallbacks(new ActivityCallbacks());
+    }
+
+    /**
+     * Removes the Alerts of an Activity, and forgets its hosts, once it is destroyed.
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static final class ActivityCallbacks implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(final Activity activity, final Bundle savedInstanceState) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityStarted(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityResumed(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityPaused(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityStopped(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(final Activity activity, final Bundle outState) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityDestroyed(final Activity activity) {
+            onDestroyed(activity);
+        }
+    }
+}
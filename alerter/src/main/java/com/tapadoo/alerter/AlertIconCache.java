@@ -0,0 +1,275 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.ColorFilter;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+import android.support.v7.content.res.AppCompatResources;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Shared cache of the icons shown by Alerts.
+ * <p>
+ * Icons are kept as constant states, keyed by their resource or bitmap and the size they are
+ * drawn at, so every Alert showing the same icon shares one bitmap and skips the resource
+ * lookup. Bitmaps larger than the icon are scaled down once, when first cached. Tints are applied
+ * by the views through shared color filters, so one icon serves every color.
+ * <p>
+ * The least recently used icons are evicted once the cache outgrows its budget, and the cache is
+ * emptied along with the {@link AlertPool} when the system reports memory pressure.
+ */
+public final class AlertIconCache {
+
+    private static final int DEFAULT_MAX_BYTES = 2 * 1024 * 1024;
+
+    private static final int MAX_COLOR_FILTERS = 16;
+
+    private static volatile IconLruCache icons = new IconLruCache(DEFAULT_MAX_BYTES);
+
+    private static final LruCache<Integer, ColorFilter> COLOR_FILTERS = new LruCache<>(MAX_COLOR_FILTERS);
+
+    private AlertIconCache() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Sets the memory budget of the cache. A size of zero disables caching.
+     *
+     * @param bytes the max size, in bytes
+     */
+    public static void setMaxSize(final int bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative!");
+        }
+
+        icons = bytes > 0 ? new IconLruCache(bytes) : null;
+    }
+
+    /**
+     * Gets the memory budget of the cache.
+     *
+     * @return the max size, in bytes
+     */
+    public static int getMaxSize() {
+        final IconLruCache cache = icons;
+        return cache != null ? cache.maxSize() : 0;
+    }
+
+    /**
+     * Gets the memory taken by the cached icons.
+     *
+     * @return the size, in bytes
+     */
+    public static int size() {
+        final IconLruCache cache = icons;
+        return cache != null ? cache.size() : 0;
+    }
+
+    /**
+     * Drops every cached icon.
+     */
+    public static void clear() {
+        final IconLruCache cache = icons;
+        if (cache != null) {
+            cache.evictAll();
+        }
+    }
+
+    /**
+     * Gets a drawable resource, fitted to the icon size.
+     *
+     * @param context the context
+     * @param iconId  the icon id
+     * @param size    the icon size, in pixels
+     * @return the drawable, or null if the resource can't be loaded
+     */
+    @Nullable
+    static Drawable get(@NonNull final Context context, @DrawableRes final int iconId, final int size) {
+        final IconLruCache cache = icons;
+        final Key key = new Key(iconId, null, size);
+        final Entry entry = cache != null ? cache.get(key) : null;
+        if (entry != null) {
+            return entry.newDrawable(context);
+        }
+
+        final Drawable drawable = AppCompatResources.getDrawable(context, iconId);
+        if (drawable instanceof BitmapDrawable) {
+            return cache(cache, context, key, ((BitmapDrawable) drawable).getBitmap());
+        }
+
+        //Vectors and other drawables render at their bounds, estimate them as one icon sized bitmap
+        if (drawable != null && drawable.getConstantState() != null && cache != null) {
+            cache.put(key, new Entry(drawable.getConstantState(), size * size * 4));
+        }
+
+        return drawable;
+    }
+
+    /**
+     * Gets a bitmap as a drawable, scaled down to the icon size if it is any larger.
+     *
+     * @param context the context
+     * @param bitmap  the bitmap
+     * @param size    the icon size, in pixels
+     * @return the drawable
+     */
+    @NonNull
+    static Drawable get(@NonNull final Context context, @NonNull final Bitmap bitmap, final int size) {
+        final IconLruCache cache = icons;
+        final Key key = new Key(0, bitmap, size);
+        final Entry entry = cache != null ? cache.get(key) : null;
+        if (entry != null) {
+            return entry.newDrawable(context);
+        }
+
+        return cache(cache, context, key, bitmap);
+    }
+
+    /**
+     * Gets the color filter tinting an icon, as set by {@code ImageView.setColorFilter(int)}.
+     *
+     * @param color the color
+     * @return the shared color filter
+     */
+    @NonNull
+    static ColorFilter colorFilter(@ColorInt final int color) {
+        ColorFilter filter = COLOR_FILTERS.get(color);
+        if (filter == null) {
+            filter = new PorterDuffColorFilter(color, PorterDuff.Mode.SRC_ATOP);
+            COLOR_FILTERS.put(color, filter);
+        }
+
+        return filter;
+    }
+
+    private static Drawable cache(@Nullable final IconLruCache cache, final Context context, final Key key, final Bitmap source) {
+        final Bitmap bitmap = fit(source, key.size);
+        final BitmapDrawable drawable = new BitmapDrawable(context.getResources(), bitmap);
+
+        if (cache != null) {
+            cache.put(key, new Entry(drawable.getConstantState(), bitmap.getRowBytes() * bitmap.getHeight()));
+        }
+
+        return drawable;
+    }
+
+    /**
+     * Scales a bitmap down to fit a square icon, keeping its aspect ratio.
+     *
+     * @param bitmap the bitmap
+     * @param size   the icon size, in pixels
+     * @return the scaled bitmap, or the bitmap itself if it already fits
+     */
+    @NonNull
+    static Bitmap fit(@NonNull final Bitmap bitmap, final int size) {
+        final int width = bitmap.getWidth();
+        final int height = bitmap.getHeight();
+        if (size <= 0 || (width <= size && height <= size)) {
+            return bitmap;
+        }
+
+        final float scale = Math.min(size / (float) width, size / (float) height);
+        return Bitmap.createScaledBitmap(bitmap, Math.max(1, Math.round(width * scale)), Math.max(1, Math.round(height * scale)), true);
+    }
+
+    /**
+     * Identifies an icon: a resource or a bitmap, at a size
+     */
+    private static final class Key {
+
+        private final int iconId;
+        private final WeakReference<Bitmap> bitmap;
+        private final int bitmapHash;
+        private final int generation;
+        private final int size;
+
+        @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+        Key(final int iconId, @Nullable final Bitmap bitmap, final int size) {
+            this.iconId = iconId;
+            this.bitmap = bitmap != null ? new WeakReference<>(bitmap) : null;
+            this.bitmapHash = System.identityHashCode(bitmap);
+            //Tells a bitmap apart from itself once its pixels have been changed
+            this.generation = bitmap != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1 ? bitmap.getGenerationId() : 0;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            if (iconId != key.iconId || size != key.size || generation != key.generation) {
+                return false;
+            }
+            if (bitmap == null || key.bitmap == null) {
+                return bitmap == key.bitmap;
+            }
+
+            //Bitmaps are compared by identity, a collected bitmap matches nothing
+            final Bitmap referent = bitmap.get();
+            return referent != null && referent == key.bitmap.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * iconId + bitmapHash) + generation) + size;
+        }
+    }
+
+    /**
+     * A cached icon
+     */
+    private static final class Entry {
+
+        private final Drawable.ConstantState state;
+        private final int bytes;
+
+        Entry(@NonNull final Drawable.ConstantState state, final int bytes) {
+            this.state = state;
+            this.bytes = Math.max(1, bytes);
+        }
+
+        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+        Drawable newDrawable(final Context context) {
+            final Resources resources = context.getResources();
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                return state.newDrawable(resources, context.getTheme());
+            }
+
+            return state.newDrawable(resources);
+        }
+    }
+
+    /**
+     * Sizes icons by their bytes
+     */
+    private static final class IconLruCache extends LruCache<Key, Entry> {
+
+        IconLruCache(final int maxBytes) {
+            super(maxBytes);
+        }
+
+        @Override
+        protected int sizeOf(final Key key, final Entry value) {
+            return value.bytes;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.tapadoo.alerter;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes icons from a Uri on a background thread, at the size they are shown at.
+ * <p>
+ * Images are decoded in two passes: the first reads their bounds only, the second decodes them
+ * subsampled to the nearest power of two above the icon size, which is then scaled down the rest
+ * of the way. Results are delivered on the UI thread unless the request was cancelled first.
+ */
+final class AlertIconLoader {
+
+    private static final String TAG = AlertIconLoader.class.getSimpleName();
+
+    private static final String THREAD_NAME = "Alerter-Icons";
+
+    private static Handler backgroundHandler;
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private AlertIconLoader() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Called on the UI thread once an icon is decoded
+     */
+    interface Callback {
+
+        /**
+         * Icon loaded.
+         *
+         * @param bitmap the bitmap, or null if it couldn't be decoded
+         */
+        void onIconLoaded(@Nullable Bitmap bitmap);
+    }
+
+    /**
+     * Starts decoding an icon.
+     *
+     * @param context  the context
+     * @param uri      the uri, of any scheme the ContentResolver opens
+     * @param size     the icon size, in pixels
+     * @param callback the callback
+     * @return the request, which can be cancelled
+     */
+    @NonNull
+    static Request load(@NonNull final Context context, @NonNull final Uri uri, final int size, @NonNull final Callback callback) {
+        final Request request = new Request(context.getApplicationContext().getContentResolver(), uri, size, callback);
+        getBackgroundHandler().post(request);
+
+        return request;
+    }
+
+    private static synchronized Handler getBackgroundHandler() {
+        if (backgroundHandler == null) {
+            final HandlerThread thread = new HandlerThread(THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+            thread.start();
+            backgroundHandler = new Handler(thread.getLooper());
+        }
+
+        return backgroundHandler;
+    }
+
+    @Nullable
+    private static Bitmap decode(final ContentResolver resolver, final Uri uri, final int size) throws IOException {
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        decodeStream(resolver, uri, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        int sampleSize = 1;
+        while (options.outWidth / (sampleSize * 2) >= size && options.outHeight / (sampleSize * 2) >= size) {
+            sampleSize *= 2;
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+
+        final Bitmap bitmap = decodeStream(resolver, uri, options);
+        return bitmap != null ? AlertIconCache.fit(bitmap, size) : null;
+    }
+
+    private static Bitmap decodeStream(final ContentResolver resolver, final Uri uri, final BitmapFactory.Options options) throws IOException {
+        final InputStream stream = resolver.openInputStream(uri);
+        if (stream == null) {
+            return null;
+        }
+
+        try {
+            return BitmapFactory.decodeStream(stream, null, options);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * A pending decode
+     */
+    static final class Request implements Runnable {
+
+        private final ContentResolver resolver;
+        private final Uri uri;
+        private final int size;
+        private final Callback callback;
+
+        private volatile boolean cancelled;
+
+        private Request(final ContentResolver resolver, final Uri uri, final int size, final Callback callback) {
+            this.resolver = resolver;
+            this.uri = uri;
+            this.size = size;
+            this.callback = callback;
+        }
+
+        /**
+         * Gets the Uri being decoded.
+         *
+         * @return the uri
+         */
+        @NonNull
+        Uri getUri() {
+            return uri;
+        }
+
+        /**
+         * Cancels the decode if it hasn't started, and drops its result otherwise.
+         */
+        void cancel() {
+            cancelled = true;
+            getBackgroundHandler().removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            Bitmap decoded = null;
+            try {
+                decoded = decode(resolver, uri, size);
+            } catch (Exception ex) {
+                AlerterLog.e(TAG, "Unable to decode the icon", ex);
+            }
+
+            final Bitmap bitmap = decoded;
+            MAIN_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!cancelled) {
+                        callback.onIconLoaded(bitmap);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.v4.view.GravityCompat;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.view.ViewCompat;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.tapadoo.android.R;
+
+/**
+ * Single pass layout for the Alert bar.
+ * <p>
+ * Places the icon, the title and text column, the second icon and the progress bar in one
+ * measure and one layout pass, without the double measurement of a RelativeLayout. The content
+ * box (icons and text) keeps the bar width, height and gravity previously applied to the
+ * nested container; the progress bar overlays the bottom edge. Any other child is laid out as
+ * it would be in a FrameLayout. An occurrence count, once set, is drawn at the top end corner of
+ * the content box without a layout pass.
+ */
+public class AlertLayout extends FrameLayout {
+
+    private final int contentPadding;
+    private final int contentMarginTop;
+    private final int textMargin;
+
+    private int contentWidth = LayoutParams.WRAP_CONTENT;
+    private int contentHeight = LayoutParams.WRAP_CONTENT;
+    private int contentGravity = Gravity.NO_GRAVITY;
+
+    //Resolved during measure, used during layout
+    private int measuredContentWidth;
+    private int measuredContentHeight;
+
+    private View icon;
+    private View title;
+    private View text;
+    private View secondIcon;
+
+    //Resolved during layout, used to draw the count
+    private int countLeft;
+    private int countTop;
+    private int countRight;
+
+    //Passes run since the counters were last reset
+    private int measurePasses;
+    private int layoutPasses;
+
+    private int count;
+    private String countLabel;
+    private TextPaint countPaint;
+
+    /**
+     * Instantiates a new Alert layout.
+     *
+     * @param context the context
+     */
+    public AlertLayout(@NonNull final Context context) {
+        this(context, null);
+    }
+
+    /**
+     * Instantiates a new Alert layout.
+     *
+     * @param context the context
+     * @param attrs   the attrs
+     */
+    public AlertLayout(@NonNull final Context context, @Nullable final AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    /**
+     * Instantiates a new Alert layout.
+     *
+     * @param context      the context
+     * @param attrs        the attrs
+     * @param defStyleAttr the def style attr
+     */
+    public AlertLayout(@NonNull final Context context, @Nullable final AttributeSet attrs, final int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        contentPadding = getResources().getDimensionPixelSize(R.dimen.alerter_activity_horizontal_margin);
+        contentMarginTop = getResources().getDimensionPixelSize(R.dimen.alerter_padding_half);
+        textMargin = getResources().getDimensionPixelSize(R.dimen.alerter_activity_horizontal_margin);
+    }
+
+    @Override
+    protected void onFinishInflate() {
+        super.onFinishInflate();
+
+        icon = findViewById(R.id.ivIcon);
+        title = findViewById(R.id.tvTitle);
+        text = findViewById(R.id.tvText);
+        secondIcon = findViewById(R.id.lvIcon);
+    }
+
+    /**
+     * Binds the content views of a layout built in code, in place of the ids looked up on inflation.
+     *
+     * @param icon       the icon
+     * @param title      the title
+     * @param text       the text
+     * @param secondIcon the second icon
+     */
+    void bindContentViews(@Nullable final View icon, @Nullable final View title, @Nullable final View text, @Nullable final View secondIcon) {
+        this.icon = icon;
+        this.title = title;
+        this.text = text;
+        this.secondIcon = secondIcon;
+        requestLayout();
+    }
+
+    /**
+     * Binds a title created after the layout was built.
+     *
+     * @param title the title
+     */
+    void bindTitle(@Nullable final View title) {
+        this.title = title;
+        requestLayout();
+    }
+
+    /**
+     * Binds a second icon created after the layout was built.
+     *
+     * @param secondIcon the second icon
+     */
+    void bindSecondIcon(@Nullable final View secondIcon) {
+        this.secondIcon = secondIcon;
+        requestLayout();
+    }
+
+    /* Content Box */
+
+    /**
+     * Sets the width of the content box, in pixels or as a {@link LayoutParams} constant.
+     *
+     * @param width the width
+     */
+    public void setContentWidth(final int width) {
+        contentWidth = width;
+        requestLayout();
+    }
+
+    /**
+     * Sets the height of the content box, in pixels or as a {@link LayoutParams} constant.
+     *
+     * @param height the height
+     */
+    public void setContentHeight(final int height) {
+        contentHeight = height;
+        requestLayout();
+    }
+
+    /**
+     * Gets the width of the content box.
+     *
+     * @return the width, in pixels or as a {@link LayoutParams} constant
+     */
+    int getContentWidth() {
+        return contentWidth;
+    }
+
+    /**
+     * Gets the height of the content box.
+     *
+     * @return the height, in pixels or as a {@link LayoutParams} constant
+     */
+    int getContentHeight() {
+        return contentHeight;
+    }
+
+    /**
+     * Sets the width, height and gravity of the content box with a single layout request.
+     *
+     * @param width   the width
+     * @param height  the height
+     * @param gravity the gravity
+     */
+    void setContentBox(final int width, final int height, final int gravity) {
+        contentWidth = width;
+        contentHeight = height;
+        contentGravity = gravity;
+        requestLayout();
+    }
+
+    /**
+     * Gets content gravity.
+     *
+     * @return the content gravity
+     */
+    public int getContentGravity() {
+        return contentGravity;
+    }
+
+    /**
+     * Sets the gravity of the content box within the bar.
+     *
+     * @param gravity the gravity
+     */
+    public void setContentGravity(final int gravity) {
+        contentGravity = gravity;
+        requestLayout();
+    }
+
+    /* Occurrence Count */
+
+    /**
+     * Sets the occurrence count drawn as "&times;N". Counts below two draw nothing. Only redraws the bar.
+     *
+     * @param count the count
+     */
+    void setCount(final int count) {
+        if (this.count == count) {
+            return;
+        }
+
+        this.count = count;
+        countLabel = count > 1 ? "\u00D7" + count : null;
+        invalidate();
+    }
+
+    /**
+     * Gets the occurrence count.
+     *
+     * @return the count
+     */
+    int getCount() {
+        return count;
+    }
+
+    @Override
+    protected void dispatchDraw(final Canvas canvas) {
+        super.dispatchDraw(canvas);
+
+        if (countLabel == null) {
+            return;
+        }
+
+        if (countPaint == null) {
+            countPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            countPaint.setColor(ContextCompat.getColor(getContext(), R.color.alert_default_text_color));
+            countPaint.setTextSize(getResources().getDimension(R.dimen.alerter_text_small));
+        }
+
+        final boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+        countPaint.setTextAlign(isRtl ? Paint.Align.LEFT : Paint.Align.RIGHT);
+
+        final float x = isRtl ? countLeft + contentMarginTop : countRight - contentMarginTop;
+        final float y = countTop - countPaint.ascent();
+        canvas.drawText(countLabel, x, y, countPaint);
+    }
+
+    /* Measure & Layout */
+
+    /**
+     * Gets the number of measure passes run since the counters were reset.
+     *
+     * @return the count
+     */
+    @VisibleForTesting
+    int getMeasurePassCount() {
+        return measurePasses;
+    }
+
+    /**
+     * Gets the number of layout passes run since the counters were reset.
+     *
+     * @return the count
+     */
+    @VisibleForTesting
+    int getLayoutPassCount() {
+        return layoutPasses;
+    }
+
+    /**
+     * Resets the pass counters, e.g. as the Alert is attached.
+     */
+    void resetPassCounts() {
+        measurePasses = 0;
+        layoutPasses = 0;
+    }
+
+    @Override
+    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        measurePasses++;
+
+        final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+        final int horizontalPadding = getPaddingLeft() + getPaddingRight();
+        final int verticalPadding = getPaddingTop() + getPaddingBottom();
+
+        final int innerWidth = Math.max(0, widthSize - horizontalPadding);
+        final int boxMaxWidth = contentWidth >= 0 ? Math.min(contentWidth, innerWidth) : innerWidth;
+
+        //Icons are fixed size
+        final int iconWidth = measureIcon(icon);
+        final int secondIconWidth = measureIcon(secondIcon);
+
+        //The text column takes whatever is left between the icons
+        final int columnMaxWidth = Math.max(0, boxMaxWidth - 2 * contentPadding - 2 * textMargin - iconWidth - secondIconWidth);
+        final int columnSpec = MeasureSpec.makeMeasureSpec(columnMaxWidth, MeasureSpec.AT_MOST);
+        final int unspecified = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+        if (isVisible(title)) {
+            title.measure(columnSpec, unspecified);
+        }
+        if (isVisible(text)) {
+            text.measure(columnSpec, unspecified);
+        }
+
+        final int columnWidth = Math.max(measuredWidth(title), measuredWidth(text));
+        final int columnHeight = measuredHeight(title) + measuredHeight(text);
+
+        //Content box, the second icon is pinned to the end so it claims the full width
+        if (contentWidth >= 0) {
+            measuredContentWidth = boxMaxWidth;
+        } else if (contentWidth == LayoutParams.MATCH_PARENT || secondIconWidth > 0) {
+            measuredContentWidth = innerWidth;
+        } else {
+            measuredContentWidth = Math.min(innerWidth, 2 * contentPadding + iconWidth + 2 * textMargin + columnWidth);
+        }
+
+        final int naturalContentHeight = 2 * contentPadding
+                + Math.max(columnHeight, Math.max(measuredHeight(icon), measuredHeight(secondIcon)));
+        measuredContentHeight = contentHeight >= 0 ? contentHeight : naturalContentHeight;
+
+        //Bar
+        final int width = widthMode == MeasureSpec.UNSPECIFIED ? measuredContentWidth + horizontalPadding : widthSize;
+        int height = Math.max(getSuggestedMinimumHeight(), verticalPadding + contentMarginTop + measuredContentHeight);
+        height = resolveSize(height, heightMeasureSpec);
+
+        if (contentHeight == LayoutParams.MATCH_PARENT) {
+            measuredContentHeight = Math.max(naturalContentHeight, height - verticalPadding - contentMarginTop);
+        }
+
+        setMeasuredDimension(width, height);
+
+        //Overlays, the progress bar and any extra children
+        for (int i = 0; i < getChildCount(); i++) {
+            final View child = getChildAt(i);
+            if (isOverlay(child) && child.getVisibility() != GONE) {
+                final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+                final int childWidthSpec = getChildMeasureSpec(
+                        MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                        horizontalPadding + lp.leftMargin + lp.rightMargin, lp.width);
+                final int childHeightSpec = getChildMeasureSpec(
+                        MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY),
+                        verticalPadding + lp.topMargin + lp.bottomMargin, lp.height);
+                child.measure(childWidthSpec, childHeightSpec);
+            }
+        }
+    }
+
+    @Override
+    protected void onLayout(final boolean changed, final int left, final int top, final int right, final int bottom) {
+        layoutPasses++;
+
+        final int width = right - left;
+        final int height = bottom - top;
+        final boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+
+        //Position the content box within the bar
+        final int parentLeft = getPaddingLeft();
+        final int parentRight = width - getPaddingRight();
+        final int parentTop = getPaddingTop() + contentMarginTop;
+        final int parentBottom = height - getPaddingBottom();
+
+        final int gravity = contentGravity == Gravity.NO_GRAVITY ? GravityCompat.START | Gravity.TOP : contentGravity;
+        final int absoluteGravity = GravityCompat.getAbsoluteGravity(gravity, ViewCompat.getLayoutDirection(this));
+
+        final int boxLeft;
+        switch (absoluteGravity & Gravity.HORIZONTAL_GRAVITY_MASK) {
+            case Gravity.CENTER_HORIZONTAL:
+                boxLeft = parentLeft + (parentRight - parentLeft - measuredContentWidth) / 2;
+                break;
+            case Gravity.RIGHT:
+                boxLeft = parentRight - measuredContentWidth;
+                break;
+            default:
+                boxLeft = parentLeft;
+        }
+
+        final int boxTop;
+        switch (absoluteGravity & Gravity.VERTICAL_GRAVITY_MASK) {
+            case Gravity.CENTER_VERTICAL:
+                boxTop = parentTop + (parentBottom - parentTop - measuredContentHeight) / 2;
+                break;
+            case Gravity.BOTTOM:
+                boxTop = parentBottom - measuredContentHeight;
+                break;
+            default:
+                boxTop = parentTop;
+        }
+
+        final int boxRight = boxLeft + measuredContentWidth;
+        final int boxCenterY = boxTop + measuredContentHeight / 2;
+        countLeft = boxLeft;
+        countTop = boxTop;
+        countRight = boxRight;
+
+        //Icons sit at either end of the box, centred vertically
+        final int startEdge = boxLeft + contentPadding;
+        final int endEdge = boxRight - contentPadding;
+        int iconWidth = 0;
+
+        if (isVisible(icon)) {
+            iconWidth = icon.getMeasuredWidth();
+            layoutHorizontal(icon, isRtl, startEdge, endEdge, 0, boxCenterY - icon.getMeasuredHeight() / 2);
+        }
+
+        if (isVisible(secondIcon)) {
+            layoutHorizontal(secondIcon, !isRtl, startEdge, endEdge, 0, boxCenterY - secondIcon.getMeasuredHeight() / 2);
+        }
+
+        //Title and text stack between them, centred as one column
+        final int columnTop = boxCenterY - (measuredHeight(title) + measuredHeight(text)) / 2;
+        final int columnOffset = iconWidth + textMargin;
+
+        if (isVisible(title)) {
+            layoutHorizontal(title, isRtl, startEdge, endEdge, columnOffset, columnTop);
+        }
+        if (isVisible(text)) {
+            layoutHorizontal(text, isRtl, startEdge, endEdge, columnOffset, columnTop + measuredHeight(title));
+        }
+
+        //Overlays are placed the same way a FrameLayout would
+        for (int i = 0; i < getChildCount(); i++) {
+            final View child = getChildAt(i);
+            if (isOverlay(child) && child.getVisibility() != GONE) {
+                layoutOverlay(child, width, height);
+            }
+        }
+    }
+
+    private void layoutHorizontal(final View child, final boolean fromEnd, final int startEdge, final int endEdge, final int offset, final int childTop) {
+        final int childWidth = child.getMeasuredWidth();
+        final int childLeft = fromEnd ? endEdge - offset - childWidth : startEdge + offset;
+        child.layout(childLeft, childTop, childLeft + childWidth, childTop + child.getMeasuredHeight());
+    }
+
+    private void layoutOverlay(final View child, final int width, final int height) {
+        final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+        final int childWidth = child.getMeasuredWidth();
+        final int childHeight = child.getMeasuredHeight();
+        final int gravity = lp.gravity == -1 ? GravityCompat.START | Gravity.TOP : lp.gravity;
+        final int absoluteGravity = GravityCompat.getAbsoluteGravity(gravity, ViewCompat.getLayoutDirection(this));
+
+        final int childLeft;
+        switch (absoluteGravity & Gravity.HORIZONTAL_GRAVITY_MASK) {
+            case Gravity.CENTER_HORIZONTAL:
+                childLeft = getPaddingLeft() + (width - getPaddingLeft() - getPaddingRight() - childWidth) / 2 + lp.leftMargin - lp.rightMargin;
+                break;
+            case Gravity.RIGHT:
+                childLeft = width - getPaddingRight() - childWidth - lp.rightMargin;
+                break;
+            default:
+                childLeft = getPaddingLeft() + lp.leftMargin;
+        }
+
+        final int childTop;
+        switch (absoluteGravity & Gravity.VERTICAL_GRAVITY_MASK) {
+            case Gravity.CENTER_VERTICAL:
+                childTop = getPaddingTop() + (height - getPaddingTop() - getPaddingBottom() - childHeight) / 2 + lp.topMargin - lp.bottomMargin;
+                break;
+            case Gravity.BOTTOM:
+                childTop = height - getPaddingBottom() - childHeight - lp.bottomMargin;
+                break;
+            default:
+                childTop = getPaddingTop() + lp.topMargin;
+        }
+
+        child.layout(childLeft, childTop, childLeft + childWidth, childTop + childHeight);
+    }
+
+    /**
+     * Estimates the width the title and text are laid out at in a bar of the given width, from the
+     * layout parameters alone.
+     *
+     * @param barWidth the width of the bar
+     * @return the width of the text column
+     */
+    int estimateColumnWidth(final int barWidth) {
+        final int innerWidth = Math.max(0, barWidth - getPaddingLeft() - getPaddingRight());
+        final int boxMaxWidth = contentWidth >= 0 ? Math.min(contentWidth, innerWidth) : innerWidth;
+
+        return Math.max(0, boxMaxWidth - 2 * contentPadding - 2 * textMargin - iconWidth(icon) - iconWidth(secondIcon));
+    }
+
+    private static int iconWidth(@Nullable final View view) {
+        return isVisible(view) ? Math.max(0, view.getLayoutParams().width) : 0;
+    }
+
+    private int measureIcon(@Nullable final View view) {
+        if (!isVisible(view)) {
+            return 0;
+        }
+
+        final ViewGroup.LayoutParams lp = view.getLayoutParams();
+        view.measure(getChildMeasureSpec(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED), 0, lp.width),
+                getChildMeasureSpec(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED), 0, lp.height));
+
+        return view.getMeasuredWidth();
+    }
+
+    private static int measuredWidth(@Nullable final View view) {
+        return isVisible(view) ? view.getMeasuredWidth() : 0;
+    }
+
+    private static int measuredHeight(@Nullable final View view) {
+        return isVisible(view) ? view.getMeasuredHeight() : 0;
+    }
+
+    private static boolean isVisible(@Nullable final View view) {
+        return view != null && view.getVisibility() != GONE;
+    }
+
+    private boolean isOverlay(final View child) {
+        return child != icon && child != title && child != text && child != secondIcon;
+    }
+}
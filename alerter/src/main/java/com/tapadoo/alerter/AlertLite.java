@@ -0,0 +1,463 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.graphics.Bitmap;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.view.ViewCompat;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.HapticFeedbackConstants;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.widget.FrameLayout;
+
+import com.tapadoo.android.R;
+
+/**
+ * Lightweight Alert for text-only messages.
+ * <p>
+ * Draws its background, icon, title and text directly in {@link #onDraw(Canvas)} from cached
+ * {@link StaticLayout}s, with no child views. Suited to frequent status messages where the
+ * customisation offered by {@link Alert} isn't needed. Built with {@link AlerterLite}.
+ */
+public class AlertLite extends View implements View.OnClickListener, Animation.AnimationListener {
+
+    private static final String TAG = AlertLite.class.getSimpleName();
+
+    private static final int CLEAN_UP_DELAY_MILLIS = 100;
+
+    private static final long DISPLAY_TIME_IN_SECONDS = 3000;
+
+    private final TextPaint titlePaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+    private final TextPaint textPaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+
+    //Dimensions matching the regular Alert
+    private final int paddingTop;
+    private final int minHeight;
+    private final int contentPadding;
+    private final int contentMarginTop;
+    private final int textMargin;
+    private final int textPadding;
+    private final int iconSize;
+
+    private final Animation slideInAnimation;
+    private final Animation slideOutAnimation;
+
+    private final Runnable hideRunnable = new Runnable() {
+        @Override
+        public void run() {
+            hideTask = null;
+            hide();
+        }
+    };
+
+    private AlertScheduler.Task hideTask;
+
+    @ColorInt
+    private int backgroundColor;
+
+    private Drawable icon;
+    private CharSequence title;
+    private CharSequence text;
+
+    //Text is only laid out again when it, or the available width, changes
+    private StaticLayout titleLayout;
+    private StaticLayout textLayout;
+    private int layoutWidth = -1;
+
+    private AlertHost host;
+
+    private OnShowAlertListener onShowListener;
+    private OnHideAlertListener onHideListener;
+
+    private long duration = DISPLAY_TIME_IN_SECONDS;
+
+    private boolean enableInfiniteDuration;
+    private boolean vibrationEnabled = true;
+
+    /**
+     * Instantiates a new Alert lite.
+     *
+     * @param context the context
+     */
+    public AlertLite(@NonNull final Context context) {
+        super(context);
+
+        setId(R.id.flAlertBackground);
+        setClickable(true);
+        setHapticFeedbackEnabled(true);
+        setOnClickListener(this);
+
+        paddingTop = getResources().getDimensionPixelSize(R.dimen.alerter_alert_padding);
+        minHeight = getResources().getDimensionPixelSize(R.dimen.alerter_alert_min_height);
+        contentPadding = getResources().getDimensionPixelSize(R.dimen.alerter_activity_horizontal_margin);
+        contentMarginTop = getResources().getDimensionPixelSize(R.dimen.alerter_padding_half);
+        textMargin = getResources().getDimensionPixelSize(R.dimen.alerter_activity_horizontal_margin);
+        textPadding = getResources().getDimensionPixelSize(R.dimen.alerter_padding_small);
+        iconSize = getResources().getDimensionPixelSize(R.dimen.alerter_alert_icn_size);
+
+        final int textColor = ContextCompat.getColor(context, R.color.alert_default_text_color);
+        titlePaint.setColor(textColor);
+        titlePaint.setTextSize(getResources().getDimension(R.dimen.alerter_text_medium));
+        titlePaint.setTypeface(Typeface.DEFAULT_BOLD);
+        textPaint.setColor(textColor);
+        textPaint.setTextSize(getResources().getDimension(R.dimen.alerter_text_small));
+
+        backgroundColor = ContextCompat.getColor(context, android.R.color.darker_gray);
+        setIcon(R.drawable.alerter_ic_notifications);
+
+        //Setup Enter & Exit Animations
+        slideInAnimation = AnimationUtils.loadAnimation(context, R.anim.alerter_slide_in_from_top);
+        slideOutAnimation = AnimationUtils.loadAnimation(context, R.anim.alerter_slide_out_to_top);
+        slideInAnimation.setAnimationListener(this);
+        setAnimation(slideInAnimation);
+
+        // Same negative top margin as the Alert, to compensate for the overshoot enter animation
+        final FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.topMargin = getResources().getDimensionPixelSize(R.dimen.alerter_alert_negative_margin_top);
+        setLayoutParams(params);
+    }
+
+    /* Measure & Draw */
+
+    @Override
+    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        final int width = MeasureSpec.getSize(widthMeasureSpec);
+        ensureTextLayouts(width);
+
+        final int columnHeight = height(titleLayout) + (textLayout != null ? height(textLayout) + 2 * textPadding : 0);
+        final int contentHeight = 2 * contentPadding + Math.max(icon != null ? iconSize : 0, columnHeight);
+        final int height = Math.max(minHeight, paddingTop + contentMarginTop + contentHeight);
+
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(final Canvas canvas) {
+        canvas.drawColor(backgroundColor);
+
+        final boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+        final int boxTop = paddingTop + contentMarginTop;
+        final int centerY = boxTop + (getHeight() - boxTop) / 2;
+
+        if (icon != null) {
+            final int iconLeft = isRtl ? getWidth() - contentPadding - iconSize : contentPadding;
+            final int iconTop = centerY - iconSize / 2;
+            icon.setBounds(iconLeft, iconTop, iconLeft + iconSize, iconTop + iconSize);
+            icon.draw(canvas);
+        }
+
+        final int columnHeight = height(titleLayout) + (textLayout != null ? height(textLayout) + 2 * textPadding : 0);
+        final int columnLeft = isRtl ? textMargin + contentPadding : contentPadding + (icon != null ? iconSize : 0) + textMargin;
+        int columnTop = centerY - columnHeight / 2;
+
+        if (titleLayout != null) {
+            drawLayout(canvas, titleLayout, columnLeft, columnTop);
+            columnTop += titleLayout.getHeight();
+        }
+
+        if (textLayout != null) {
+            drawLayout(canvas, textLayout, columnLeft, columnTop + textPadding);
+        }
+    }
+
+    private static void drawLayout(final Canvas canvas, final StaticLayout layout, final int left, final int top) {
+        final int saveCount = canvas.save();
+        canvas.translate(left, top);
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private void ensureTextLayouts(final int width) {
+        final int textWidth = Math.max(0, width - 2 * contentPadding - 2 * textMargin - (icon != null ? iconSize : 0));
+        if (textWidth == layoutWidth && (titleLayout != null || title == null) && (textLayout != null || text == null)) {
+            return;
+        }
+
+        layoutWidth = textWidth;
+        titleLayout = title != null ? new StaticLayout(title, titlePaint, textWidth, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, false) : null;
+        textLayout = text != null ? new StaticLayout(text, textPaint, textWidth, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, false) : null;
+    }
+
+    private static int height(@Nullable final StaticLayout layout) {
+        return layout != null ? layout.getHeight() : 0;
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull final Drawable who) {
+        return who == icon || super.verifyDrawable(who);
+    }
+
+    /* Override Methods */
+
+    @Override
+    public boolean onTouchEvent(final MotionEvent event) {
+        //Touches are consumed so they don't fall through to the content below
+        super.onTouchEvent(event);
+        return true;
+    }
+
+    @Override
+    public void onClick(final View v) {
+        hide();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        slideInAnimation.setAnimationListener(null);
+        cancelHideTask();
+    }
+
+    /* Interface Method Implementations */
+
+    @Override
+    public void onAnimationStart(final Animation animation) {
+        if (!isInEditMode() && vibrationEnabled && AlertFloodControl.acquireHaptic()) {
+            performHapticFeedback(HapticFeedbackConstants.VIRTUAL_KEY);
+        }
+    }
+
+    @Override
+    public void onAnimationEnd(final Animation animation) {
+        if (onShowListener != null) {
+            onShowListener.onShow();
+        }
+
+        if (!enableInfiniteDuration) {
+            cancelHideTask();
+            hideTask = AlertScheduler.schedule(hideRunnable, duration);
+        }
+    }
+
+    @Override
+    public void onAnimationRepeat(final Animation animation) {
+        //Ignore
+    }
+
+    /* Clean Up Methods */
+
+    /**
+     * Hide.
+     */
+    public void hide() {
+        cancelHideTask();
+        setClickable(false);
+
+        slideOutAnimation.setAnimationListener(new Animation.AnimationListener() {
+            @Override
+            public void onAnimationStart(final Animation animation) {
+                //Ignore
+            }
+
+            @Override
+            public void onAnimationEnd(final Animation animation) {
+                removeFromParent();
+            }
+
+            @Override
+            public void onAnimationRepeat(final Animation animation) {
+                //Ignore
+            }
+        });
+        startAnimation(slideOutAnimation);
+    }
+
+    private void cancelHideTask() {
+        if (hideTask != null) {
+            hideTask.cancel();
+            hideTask = null;
+        }
+    }
+
+    private void removeFromParent() {
+        postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                if (getParent() == null) {
+                    AlerterLog.e(TAG, "getParent() returning Null");
+                    return;
+                }
+
+                if (host != null) {
+                    host.remove(AlertLite.this);
+                    host = null;
+                } else {
+                    ((ViewGroup) getParent()).removeView(AlertLite.this);
+                }
+
+                if (onHideListener != null) {
+                    onHideListener.onHide();
+                }
+            }
+        }, CLEAN_UP_DELAY_MILLIS);
+    }
+
+    /* Setters and Getters */
+
+    /**
+     * Sets the host the Alert was added to.
+     *
+     * @param host the host
+     */
+    void setHost(@Nullable final AlertHost host) {
+        this.host = host;
+    }
+
+    /**
+     * Sets alert background color.
+     *
+     * @param color the color
+     */
+    public void setAlertBackgroundColor(@ColorInt final int color) {
+        backgroundColor = color;
+        invalidate();
+    }
+
+    /**
+     * Gets title.
+     *
+     * @return the title
+     */
+    @Nullable
+    public CharSequence getTitle() {
+        return title;
+    }
+
+    /**
+     * Sets title.
+     *
+     * @param title the title
+     */
+    public void setTitle(@Nullable final CharSequence title) {
+        this.title = TextUtils.isEmpty(title) ? null : title;
+        titleLayout = null;
+        requestLayout();
+    }
+
+    /**
+     * Gets text.
+     *
+     * @return the text
+     */
+    @Nullable
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Sets text.
+     *
+     * @param text the text
+     */
+    public void setText(@Nullable final CharSequence text) {
+        this.text = TextUtils.isEmpty(text) ? null : text;
+        textLayout = null;
+        requestLayout();
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param iconId the icon id
+     */
+    public void setIcon(@DrawableRes final int iconId) {
+        setIcon(AlertIconCache.get(getContext(), iconId, iconSize));
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param bitmap the bitmap
+     */
+    public void setIcon(@NonNull final Bitmap bitmap) {
+        setIcon(AlertIconCache.get(getContext(), bitmap, iconSize));
+    }
+
+    /**
+     * Sets icon, or removes it when null.
+     *
+     * @param drawable the drawable
+     */
+    public void setIcon(@Nullable final Drawable drawable) {
+        if (icon != null) {
+            icon.setCallback(null);
+        }
+
+        icon = drawable != null ? drawable.mutate() : null;
+
+        if (icon != null) {
+            icon.setColorFilter(AlertIconCache.colorFilter(ContextCompat.getColor(getContext(), R.color.alert_default_icon_color)));
+            icon.setCallback(this);
+        }
+
+        layoutWidth = -1;
+        requestLayout();
+    }
+
+    /**
+     * Gets duration.
+     *
+     * @return the duration
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Sets duration.
+     *
+     * @param duration the duration
+     */
+    public void setDuration(final long duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * Sets enable infinite duration.
+     *
+     * @param enableInfiniteDuration the enable infinite duration
+     */
+    public void setEnableInfiniteDuration(final boolean enableInfiniteDuration) {
+        this.enableInfiniteDuration = enableInfiniteDuration;
+    }
+
+    /**
+     * Sets on show listener.
+     *
+     * @param listener the listener
+     */
+    public void setOnShowListener(@NonNull final OnShowAlertListener listener) {
+        this.onShowListener = listener;
+    }
+
+    /**
+     * Sets on hide listener.
+     *
+     * @param listener the listener
+     */
+    public void setOnHideListener(@NonNull final OnHideAlertListener listener) {
+        this.onHideListener = listener;
+    }
+
+    /**
+     * Sets vibration enabled.
+     *
+     * @param vibrationEnabled the vibration enabled
+     */
+    public void setVibrationEnabled(final boolean vibrationEnabled) {
+        this.vibrationEnabled = vibrationEnabled;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tapadoo.alerter;
+
+/**
+ * Performance metrics of a single Alert, from construction until it was hidden.
+ * Values which could not be measured are reported as {@link #NOT_MEASURED}.
+ */
+public final class AlertMetrics {
+
+    /**
+     * Value for metrics which weren't measured, e.g. the construction time of a recycled Alert,
+     * or dropped frames below API 16
+     */
+    public static final long NOT_MEASURED = -1;
+
+    private final long constructionNanos;
+    private final long timeToFirstFrameNanos;
+    private final long timeToEnterEndNanos;
+    private final long enterDroppedFrames;
+    private final long exitDroppedFrames;
+
+    AlertMetrics(final long constructionNanos, final long timeToFirstFrameNanos, final long timeToEnterEndNanos,
+                 final long enterDroppedFrames, final long exitDroppedFrames) {
+        this.constructionNanos = constructionNanos;
+        this.timeToFirstFrameNanos = timeToFirstFrameNanos;
+        this.timeToEnterEndNanos = timeToEnterEndNanos;
+        this.enterDroppedFrames = enterDroppedFrames;
+        this.exitDroppedFrames = exitDroppedFrames;
+    }
+
+    /**
+     * Gets the time spent building or inflating the Alert's views.
+     *
+     * @return the construction time in nanoseconds, or {@link #NOT_MEASURED} for recycled Alerts
+     */
+    public long getConstructionNanos() {
+        return constructionNanos;
+    }
+
+    /**
+     * Gets the time from {@link Alerter#show()} until the Alert's first frame was drawn,
+     * including any time spent waiting in the {@link AlertQueue}.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTimeToFirstFrameNanos() {
+        return timeToFirstFrameNanos;
+    }
+
+    /**
+     * Gets the time from {@link Alerter#show()} until the enter animation ended.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTimeToEnterEndNanos() {
+        return timeToEnterEndNanos;
+    }
+
+    /**
+     * Gets the number of frames which missed their vsync deadline during the enter animation.
+     *
+     * @return the dropped frames
+     */
+    public long getEnterDroppedFrames() {
+        return enterDroppedFrames;
+    }
+
+    /**
+     * Gets the number of frames which missed their vsync deadline during the exit animation.
+     *
+     * @return the dropped frames
+     */
+    public long getExitDroppedFrames() {
+        return exitDroppedFrames;
+    }
+
+    @Override
+    public String toString() {
+        return "AlertMetrics{"
+                + "constructionNanos=" + constructionNanos
+                + ", timeToFirstFrameNanos=" + timeToFirstFrameNanos
+                + ", timeToEnterEndNanos=" + timeToEnterEndNanos
+                + ", enterDroppedFrames=" + enterDroppedFrames
+                + ", exitDroppedFrames=" + exitDroppedFrames
+                + '}';
+    }
+}
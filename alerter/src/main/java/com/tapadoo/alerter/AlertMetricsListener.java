@@ -0,0 +1,18 @@
+package com.tapadoo.alerter;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Alert Metrics Listener
+ * <p>
+ * Receives the {@link AlertMetrics} of every Alert once it has been hidden. Metrics are delivered
+ * in batches on the UI thread whenever it goes idle, never during the animations being measured.
+ */
+public interface AlertMetricsListener {
+    /**
+     * Called on the UI thread for each hidden Alert
+     *
+     * @param metrics the metrics
+     */
+    void onAlertMetrics(@NonNull AlertMetrics metrics);
+}
@@ -0,0 +1,223 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.WindowManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the {@link AlertMetrics} of one Alert.
+ * <p>
+ * Only created for Alerts shown while a metrics listener is installed, so Alerts without one pay
+ * for nothing beyond a null check. Finished metrics are queued and handed to their listeners from
+ * an IdleHandler, once the UI thread has no frames left to produce.
+ */
+final class AlertMetricsTracker {
+
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private static volatile AlertMetricsListener globalListener;
+
+    //Only touched on the UI thread
+    private static final List<AlertMetricsListener> PENDING_LISTENERS = new ArrayList<>();
+    private static final List<AlertMetrics> PENDING_METRICS = new ArrayList<>();
+    private static boolean deliveryScheduled;
+
+    private static final MessageQueue.IdleHandler DELIVER = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            deliverPending();
+            return false;
+        }
+    };
+
+    private final AlertMetricsListener listener;
+    private final long constructionNanos;
+    private final long showRequestedAt;
+    private final long frameIntervalNanos;
+
+    private long firstFrameAt = AlertMetrics.NOT_MEASURED;
+    private long enterEndAt = AlertMetrics.NOT_MEASURED;
+    private long enterDroppedFrames = AlertMetrics.NOT_MEASURED;
+    private long exitDroppedFrames = AlertMetrics.NOT_MEASURED;
+
+    private Object frameCounter;
+
+    private AlertMetricsTracker(final AlertMetricsListener listener, final long constructionNanos, final long frameIntervalNanos) {
+        this.listener = listener;
+        this.constructionNanos = constructionNanos;
+        this.showRequestedAt = System.nanoTime();
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    static void setGlobalListener(@Nullable final AlertMetricsListener listener) {
+        globalListener = listener;
+    }
+
+    /**
+     * Starts tracking an Alert which is about to be shown, if anyone is listening.
+     *
+     * @param context           the Alert's context
+     * @param listener          the Alert's own listener, which takes precedence over the global one
+     * @param constructionNanos the time taken to build the Alert
+     * @return the tracker, or null when there is no listener
+     */
+    @Nullable
+    static AlertMetricsTracker start(@NonNull final Context context, @Nullable final AlertMetricsListener listener, final long constructionNanos) {
+        final AlertMetricsListener target = listener != null ? listener : globalListener;
+        if (target == null) {
+            return null;
+        }
+
+        return new AlertMetricsTracker(target, constructionNanos, frameIntervalNanos(context));
+    }
+
+    void onDraw() {
+        if (firstFrameAt == AlertMetrics.NOT_MEASURED) {
+            firstFrameAt = System.nanoTime();
+        }
+    }
+
+    void onEnterStart() {
+        startCountingFrames();
+    }
+
+    void onEnterEnd() {
+        enterEndAt = System.nanoTime();
+        enterDroppedFrames = stopCountingFrames();
+    }
+
+    void onExitStart() {
+        startCountingFrames();
+    }
+
+    void onExitEnd() {
+        exitDroppedFrames = stopCountingFrames();
+    }
+
+    /**
+     * Stops tracking and queues the metrics for delivery. Must be called on the UI thread.
+     */
+    void finish() {
+        stopCountingFrames();
+
+        PENDING_LISTENERS.add(listener);
+        PENDING_METRICS.add(new AlertMetrics(constructionNanos,
+                since(firstFrameAt),
+                since(enterEndAt),
+                enterDroppedFrames,
+                exitDroppedFrames));
+
+        if (!deliveryScheduled) {
+            deliveryScheduled = true;
+            Looper.myQueue().addIdleHandler(DELIVER);
+        }
+    }
+
+    private long since(final long timestamp) {
+        return timestamp == AlertMetrics.NOT_MEASURED ? AlertMetrics.NOT_MEASURED : timestamp - showRequestedAt;
+    }
+
+    private void startCountingFrames() {
+        stopCountingFrames();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            final FrameCounter counter = new FrameCounter(frameIntervalNanos);
+            counter.start();
+            frameCounter = counter;
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private long stopCountingFrames() {
+        if (frameCounter == null) {
+            return AlertMetrics.NOT_MEASURED;
+        }
+
+        final long dropped = ((FrameCounter) frameCounter).stop();
+        frameCounter = null;
+
+        return dropped;
+    }
+
+    private static void deliverPending() {
+        deliveryScheduled = false;
+
+        final AlertMetricsListener[] listeners = PENDING_LISTENERS.toArray(new AlertMetricsListener[PENDING_LISTENERS.size()]);
+        final AlertMetrics[] metrics = PENDING_METRICS.toArray(new AlertMetrics[PENDING_METRICS.size()]);
+        PENDING_LISTENERS.clear();
+        PENDING_METRICS.clear();
+
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onAlertMetrics(metrics[i]);
+        }
+    }
+
+    private static long frameIntervalNanos(final Context context) {
+        float refreshRate = DEFAULT_REFRESH_RATE;
+
+        final WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        final Display display = windowManager != null ? windowManager.getDefaultDisplay() : null;
+        if (display != null && display.getRefreshRate() > 0) {
+            refreshRate = display.getRefreshRate();
+        }
+
+        return (long) (1000000000L / refreshRate);
+    }
+
+    /**
+     * Counts the vsync deadlines missed between consecutive frames
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameCounter implements Choreographer.FrameCallback {
+
+        private final long frameIntervalNanos;
+
+        private long lastFrameTimeNanos;
+        private long dropped;
+        private boolean running;
+
+        FrameCounter(final long frameIntervalNanos) {
+            this.frameIntervalNanos = frameIntervalNanos;
+        }
+
+        void start() {
+            running = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        long stop() {
+            running = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+
+            return dropped;
+        }
+
+        @Override
+        public void doFrame(final long frameTimeNanos) {
+            if (!running) {
+                return;
+            }
+
+            if (lastFrameTimeNanos != 0) {
+                //Half an interval of slack, so that vsync jitter isn't counted as a missed frame
+                final long missed = (frameTimeNanos - lastFrameTimeNanos - frameIntervalNanos / 2) / frameIntervalNanos;
+                if (missed > 0) {
+                    dropped += missed;
+                }
+            }
+
+            lastFrameTimeNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
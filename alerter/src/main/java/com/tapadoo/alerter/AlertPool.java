@@ -0,0 +1,257 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recycling pool for detached {@link Alert} instances.
+ * <p>
+ * Alerts are handed back once they have been removed from their parent, reset to their
+ * inflated state and given out again by {@link Alerter#create(Activity)}, which saves the
+ * layout inflation, view lookups and animation loading of a fresh {@link Alert}.
+ * <p>
+ * Pooling is off by default: a recycled Alert is the same instance as one given out earlier, so
+ * it is only safe to enable when callers don't hold on to Alerts after they are hidden, e.g. for
+ * a later {@link Alert#setProgress(int)} or {@link Alert#hide()}.
+ * <p>
+ * An Alert is only reused for the Context it was created with. The pool is emptied when the
+ * system reports memory pressure and whenever an Activity owning pooled Alerts is destroyed.
+ * All methods must be called from the UI thread.
+ */
+public final class AlertPool {
+
+    private static final int DEFAULT_MAX_SIZE = 0;
+
+    private static final List<Alert> POOL = new ArrayList<>();
+
+    private static int maxSize = DEFAULT_MAX_SIZE;
+
+    private static boolean callbacksRegistered;
+
+    private AlertPool() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Sets the maximum number of Alerts kept for reuse. A size of zero, the default, disables
+     * pooling.
+     *
+     * @param size the max size
+     */
+    public static void setMaxSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Pool size cannot be negative!");
+        }
+
+        maxSize = size;
+        trimToSize(size);
+    }
+
+    /**
+     * Gets the maximum number of Alerts kept for reuse.
+     *
+     * @return the max size
+     */
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of Alerts currently waiting to be reused.
+     *
+     * @return the size
+     */
+    public static int size() {
+        return POOL.size();
+    }
+
+    /**
+     * Drops every pooled Alert.
+     */
+    public static void clear() {
+        POOL.clear();
+    }
+
+    /**
+     * Returns a pooled Alert created for the given Context, or a new one if none is available.
+     *
+     * @param context the context
+     * @return the alert
+     */
+    @NonNull
+    static Alert obtain(@NonNull final Context context) {
+        registerCallbacks(context);
+
+        for (int i = POOL.size() - 1; i >= 0; i--) {
+            final Alert alert = POOL.get(i);
+            if (alert.getContext() == context) {
+                POOL.remove(i);
+                return alert;
+            }
+        }
+
+        return new Alert(context);
+    }
+
+    /**
+     * Resets a detached Alert and keeps it for reuse, if there is room for it.
+     *
+     * @param alert the alert
+     */
+    static void release(@NonNull final Alert alert) {
+        if (alert.getParent() != null || POOL.contains(alert)) {
+            return;
+        }
+
+        if (POOL.size() >= maxSize || isGone(alert.getContext())) {
+            return;
+        }
+
+        alert.resetForReuse();
+        POOL.add(alert);
+    }
+
+    /**
+     * Is there room for another Alert in the pool.
+     *
+     * @return the boolean
+     */
+    static boolean hasRoom() {
+        return POOL.size() < maxSize;
+    }
+
+    /**
+     * Keeps a freshly built, never shown Alert for reuse, if there is room for it.
+     *
+     * @param alert the alert
+     */
+    static void offer(@NonNull final Alert alert) {
+        registerCallbacks(alert.getContext());
+
+        //Prewarmed Alerts may arrive after their Activity was destroyed and dropped from the pool
+        if (POOL.size() < maxSize && alert.getParent() == null && !isGone(alert.getContext())) {
+            POOL.add(alert);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+    private static boolean isGone(final Context context) {
+        if (!(context instanceof Activity)) {
+            return false;
+        }
+
+        final Activity activity = (Activity) context;
+        return activity.isFinishing()
+                || (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && activity.isDestroyed());
+    }
+
+    private static void trimToSize(final int size) {
+        while (POOL.size() > size) {
+            POOL.remove(0);
+        }
+    }
+
+    private static void removeForContext(final Context context) {
+        for (int i = POOL.size() - 1; i >= 0; i--) {
+            if (POOL.get(i).getContext() == context) {
+                POOL.remove(i);
+            }
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static void registerCallbacks(final Context context) {
+        if (callbacksRegistered || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            return;
+        }
+
+        final Context appContext = context.getApplicationContext();
+        if (!(appContext instanceof Application)) {
+            return;
+        }
+
+        callbacksRegistered = true;
+        appContext.registerComponentCallbacks(new MemoryCallbacks());
+        ((Application) appContext).registerActivityLifecycleCallbacks(new ActivityCallbacks());
+    }
+
+    /**
+     * Drops the pool and the icon cache once the system starts running low on memory.
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static final class MemoryCallbacks implements ComponentCallbacks2 {
+
+        @Override
+        public void onTrimMemory(final int level) {
+            if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+                clear();
+                AlertIconCache.clear();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(final Configuration newConfig) {
+            //Cached icons and themes were resolved for the old configuration
+            AlertIconCache.clear();
+            AlertTheme.clearCache();
+        }
+
+        @Override
+        public void onLowMemory() {
+            clear();
+            AlertIconCache.clear();
+        }
+    }
+
+    /**
+     * Releases pooled Alerts, and with them their Activity, once that Activity is destroyed.
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static final class ActivityCallbacks implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(final Activity activity, final Bundle savedInstanceState) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityStarted(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityResumed(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityPaused(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityStopped(final Activity activity) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(final Activity activity, final Bundle outState) {
+            //Ignore
+        }
+
+        @Override
+        public void onActivityDestroyed(final Activity activity) {
+            removeForContext(activity);
+        }
+    }
+}
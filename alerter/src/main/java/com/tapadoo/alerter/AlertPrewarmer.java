@@ -0,0 +1,88 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.v7.content.res.AppCompatResources;
+import android.view.animation.AnimationUtils;
+
+import com.tapadoo.android.R;
+
+/**
+ * Prepares Alerts ahead of time and parks them in the {@link AlertPool}, if it has room for them.
+ * <p>
+ * Only work that is safe off the UI thread runs in the background: decoding the default icon,
+ * loading the animations and resolving the {@link AlertTheme}, all of which end up in caches the
+ * Alert's views read from. The views themselves are built on the UI thread, one Alert per message,
+ * as TextView and the AppCompat widgets rely on the thread they are created on. The resources are
+ * warmed whatever the pool's size, so that the first Alert benefits even without pooling.
+ */
+final class AlertPrewarmer {
+
+    private static final String TAG = AlertPrewarmer.class.getSimpleName();
+
+    private static final String THREAD_NAME = "Alerter-Prewarm";
+
+    private static Handler backgroundHandler;
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private AlertPrewarmer() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Warms the resource caches in the background, then builds Alerts for the given Context while
+     * the pool has room for them.
+     *
+     * @param context the context Alerts will be shown in
+     * @param count   the number of Alerts to build at most
+     */
+    static void prewarm(@NonNull final Context context, final int count) {
+        getBackgroundHandler().post(new Runnable() {
+            @Override
+            public void run() {
+                warmResources(context);
+
+                //Posted separately, so that no single frame pays for every Alert
+                for (int i = 0; i < count; i++) {
+                    MAIN_HANDLER.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (AlertPool.hasRoom()) {
+                                AlertPool.offer(new Alert(context));
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private static void warmResources(final Context context) {
+        try {
+            //Decoded once here, every later load shares the cached constant state
+            AppCompatResources.getDrawable(context, R.drawable.alerter_ic_notifications);
+
+            AnimationUtils.loadAnimation(context, R.anim.alerter_slide_in_from_top);
+            AnimationUtils.loadAnimation(context, R.anim.alerter_slide_out_to_top);
+            IconPulse.warm(context);
+            AlertTheme.of(context);
+        } catch (Exception ex) {
+            AlerterLog.e(TAG, "Unable to warm resources", ex);
+        }
+    }
+
+    static synchronized Handler getBackgroundHandler() {
+        if (backgroundHandler == null) {
+            final HandlerThread thread = new HandlerThread(THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+            thread.start();
+            backgroundHandler = new Handler(thread.getLooper());
+        }
+
+        return backgroundHandler;
+    }
+}
@@ -0,0 +1,363 @@
+package com.tapadoo.alerter;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * Priority queue for Alerts.
+ * <p>
+ * Once enabled, {@link Alerter#show()} no longer replaces the visible Alert. Alerts are queued
+ * by priority and shown one at a time, in order of arrival within the same priority. An Alert with
+ * a higher priority than the visible one preempts it; the preempted Alert goes back into the queue
+ * and later resumes with whatever duration it had left.
+ * <p>
+ * Queued Alerts are dropped once their time-to-live runs out, and the lowest priority, newest Alert
+ * is dropped when the queue grows beyond its max depth. Dropped Alerts are released like hidden
+ * ones. A preempted Alert keeps the deadline it was queued with. The visible Alert's turn ends
+ * when it is hidden, or when its Activity goes away with it. Enqueueing is thread-safe and
+ * costs a tree insertion; the UI thread is only involved when the visible Alert has to change.
+ */
+public final class AlertQueue {
+
+    /**
+     * Low priority, shown once nothing else is waiting
+     */
+    public static final int PRIORITY_LOW = -1;
+
+    /**
+     * Default priority
+     */
+    public static final int PRIORITY_NORMAL = 0;
+
+    /**
+     * High priority, preempts normal and low priority Alerts
+     */
+    public static final int PRIORITY_HIGH = 1;
+
+    /**
+     * Urgent priority, preempts every other Alert
+     */
+    public static final int PRIORITY_URGENT = 2;
+
+    /**
+     * Time to live for Alerts which never expire while queued
+     */
+    public static final long TIME_TO_LIVE_INFINITE = 0;
+
+    private static final int DEFAULT_MAX_DEPTH = 16;
+
+    private static final Object LOCK = new Object();
+
+    private static final TreeSet<Entry> QUEUE = new TreeSet<>(new EntryComparator());
+
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+
+    private static final Runnable DISPATCH = new Runnable() {
+        @Override
+        public void run() {
+            dispatch();
+        }
+    };
+
+    private static volatile boolean enabled;
+
+    private static int maxDepth = DEFAULT_MAX_DEPTH;
+
+    private static long sequence;
+
+    private static Entry current;
+
+    private static boolean dispatchPending;
+
+    private AlertQueue() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Enables or disables queueing. While disabled, every new Alert replaces the visible one.
+     *
+     * @param enable the enable
+     */
+    public static void setEnabled(final boolean enable) {
+        enabled = enable;
+
+        if (!enable) {
+            synchronized (LOCK) {
+                dropAll();
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Is queueing enabled.
+     *
+     * @return the boolean
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the maximum number of Alerts waiting in the queue, not counting the visible one.
+     *
+     * @param depth the max depth
+     */
+    public static void setMaxDepth(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Queue depth cannot be negative!");
+        }
+
+        synchronized (LOCK) {
+            maxDepth = depth;
+            while (QUEUE.size() > maxDepth) {
+                drop(QUEUE.pollLast());
+            }
+        }
+    }
+
+    /**
+     * Gets the number of Alerts waiting in the queue, not counting the visible one.
+     *
+     * @return the size
+     */
+    public static int size() {
+        synchronized (LOCK) {
+            return QUEUE.size();
+        }
+    }
+
+    /**
+     * Drops every waiting Alert. The visible Alert is left alone.
+     */
+    public static void clear() {
+        synchronized (LOCK) {
+            dropAll();
+        }
+    }
+
+    /**
+     * Queues an Alert, scheduling a dispatch on the UI thread if it should be shown right away.
+     *
+     * @param activity   the activity
+     * @param host       the host, or null for the Activity's DecorView
+     * @param alert      the alert
+     * @param priority   the priority
+     * @param timeToLive the time to live in milliseconds, or {@link #TIME_TO_LIVE_INFINITE}
+     */
+    static void enqueue(@NonNull final Activity activity, @Nullable final AlertHost host, @NonNull final Alert alert,
+                        final int priority, final long timeToLive) {
+        synchronized (LOCK) {
+            final long expiresAt = timeToLive > 0 ? SystemClock.uptimeMillis() + timeToLive : Long.MAX_VALUE;
+            final Entry entry = new Entry(activity, host, alert, priority, expiresAt, sequence++);
+            QUEUE.add(entry);
+            trimToDepth();
+
+            if (QUEUE.contains(entry) && (current == null || priority > current.priority || !isLive(current))) {
+                scheduleDispatch();
+            }
+        }
+    }
+
+    /**
+     * Called on the UI thread once an Alert has left the screen for good.
+     *
+     * @param alert the alert
+     */
+    static void onHidden(@NonNull final Alert alert) {
+        synchronized (LOCK) {
+            if (current == null || current.alert != alert) {
+                return;
+            }
+
+            current = null;
+
+            if (!QUEUE.isEmpty()) {
+                scheduleDispatch();
+            }
+        }
+    }
+
+    private static void scheduleDispatch() {
+        if (!dispatchPending) {
+            dispatchPending = true;
+            HANDLER.post(DISPATCH);
+        }
+    }
+
+    private static void dispatch() {
+        Entry next;
+        Entry preempted = null;
+
+        synchronized (LOCK) {
+            dispatchPending = false;
+
+            //The visible Alert's Activity is going away, and takes the Alert along
+            if (current != null && !isLive(current)) {
+                current = null;
+            }
+
+            next = pollLive(current == null ? Integer.MIN_VALUE : current.priority);
+            if (next == null) {
+                return;
+            }
+
+            if (current != null) {
+                preempted = current;
+            }
+
+            current = next;
+        }
+
+        if (preempted != null && !preempted.alert.isHiding()) {
+            //Keeps its place in the queue and its deadline, and resumes with the duration it had left
+            final Activity preemptedActivity = preempted.activity.get();
+            preempted.alert.suspend();
+
+            if (preemptedActivity != null && !preemptedActivity.isFinishing()) {
+                synchronized (LOCK) {
+                    QUEUE.add(preempted);
+                    trimToDepth();
+                }
+            } else {
+                preempted.alert.onDropped();
+            }
+        }
+
+        final Activity activity = next.activity.get();
+        if (!Alerter.attach(activity, next.host, next.alert)) {
+            //Never shown, so onHidden won't come to let the next Alert through
+            synchronized (LOCK) {
+                if (current == next) {
+                    current = null;
+                }
+                if (!QUEUE.isEmpty()) {
+                    scheduleDispatch();
+                }
+            }
+            next.alert.onDropped();
+        }
+    }
+
+    /**
+     * Removes and returns the first live Entry with a priority above the given one.
+     */
+    private static Entry pollLive(final int abovePriority) {
+        final long now = SystemClock.uptimeMillis();
+
+        while (!QUEUE.isEmpty()) {
+            final Entry head = QUEUE.first();
+            if (head.priority <= abovePriority) {
+                return null;
+            }
+
+            QUEUE.pollFirst();
+
+            if (head.expiresAt > now && isLive(head)) {
+                return head;
+            }
+
+            drop(head);
+        }
+
+        return null;
+    }
+
+    //Expired entries go first, then the lowest priority, newest ones
+    private static void trimToDepth() {
+        if (QUEUE.size() > maxDepth) {
+            purgeExpired(SystemClock.uptimeMillis());
+        }
+
+        while (QUEUE.size() > maxDepth) {
+            drop(QUEUE.pollLast());
+        }
+    }
+
+    //Whether the Entry's Activity is still there to show it in
+    private static boolean isLive(final Entry entry) {
+        final Activity activity = entry.activity.get();
+        return activity != null && !activity.isFinishing();
+    }
+
+    private static void purgeExpired(final long now) {
+        final Iterator<Entry> iterator = QUEUE.iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.expiresAt <= now) {
+                iterator.remove();
+                drop(entry);
+            }
+        }
+    }
+
+    private static void dropAll() {
+        for (final Entry entry : QUEUE) {
+            drop(entry);
+        }
+        QUEUE.clear();
+    }
+
+    /**
+     * Releases a dropped Entry's Alert on the UI thread, as if it had been hidden.
+     */
+    private static void drop(@Nullable final Entry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        final Alert alert = entry.alert;
+        HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                alert.onDropped();
+            }
+        });
+    }
+
+    /**
+     * A queued Alert
+     */
+    private static final class Entry {
+
+        final WeakReference<Activity> activity;
+        final AlertHost host;
+        final Alert alert;
+        final int priority;
+        final long expiresAt;
+        final long sequence;
+
+        Entry(final Activity activity, final AlertHost host, final Alert alert, final int priority, final long expiresAt, final long sequence) {
+            this.activity = new WeakReference<>(activity);
+            this.host = host;
+            this.alert = alert;
+            this.priority = priority;
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Orders Entries by descending priority, then by arrival
+     */
+    private static final class EntryComparator implements Comparator<Entry> {
+
+        @Override
+        public int compare(final Entry lhs, final Entry rhs) {
+            if (lhs.priority != rhs.priority) {
+                return lhs.priority > rhs.priority ? -1 : 1;
+            }
+
+            return lhs.sequence < rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+        }
+    }
+}
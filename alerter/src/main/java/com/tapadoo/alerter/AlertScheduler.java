@@ -0,0 +1,166 @@
+package com.tapadoo.alerter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Runs the dismissal of every Alert from a single deadline heap on the UI thread's Handler.
+ * <p>
+ * Only the earliest deadline is ever posted, so showing, pausing or cancelling any number of
+ * Alerts leaves at most one callback in the message queue. Tasks can be paused, e.g. while the
+ * Alert is being touched, and resume with the time they had left. Must be used from the UI thread.
+ */
+final class AlertScheduler {
+
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+
+    private static final PriorityQueue<Task> QUEUE = new PriorityQueue<>(4, new Comparator<Task>() {
+        @Override
+        public int compare(final Task lhs, final Task rhs) {
+            return lhs.deadline < rhs.deadline ? -1 : (lhs.deadline == rhs.deadline ? 0 : 1);
+        }
+    });
+
+    private static final Runnable TICK = new Runnable() {
+        @Override
+        public void run() {
+            tick();
+        }
+    };
+
+    //The deadline TICK is currently posted for
+    private static long postedFor = Long.MAX_VALUE;
+
+    private AlertScheduler() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Schedules an action.
+     *
+     * @param action       the action
+     * @param delayMillis  the delay in milliseconds
+     * @return the task, which can be paused, resumed or cancelled
+     */
+    @NonNull
+    static Task schedule(@NonNull final Runnable action, final long delayMillis) {
+        final Task task = new Task(action);
+        task.remaining = Math.max(0, delayMillis);
+        task.resume();
+
+        return task;
+    }
+
+    private static void tick() {
+        postedFor = Long.MAX_VALUE;
+
+        final long now = SystemClock.uptimeMillis();
+        while (!QUEUE.isEmpty() && QUEUE.peek().deadline <= now) {
+            final Task task = QUEUE.poll();
+            task.state = Task.FINISHED;
+            task.action.run();
+        }
+
+        reschedule();
+    }
+
+    private static void reschedule() {
+        final Task head = QUEUE.peek();
+        final long next = head != null ? head.deadline : Long.MAX_VALUE;
+
+        if (next != postedFor) {
+            HANDLER.removeCallbacks(TICK);
+            postedFor = next;
+
+            if (head != null) {
+                HANDLER.postAtTime(TICK, next);
+            }
+        }
+    }
+
+    /**
+     * A scheduled action
+     */
+    static final class Task {
+
+        private static final int SCHEDULED = 0;
+        private static final int PAUSED = 1;
+        private static final int FINISHED = 2;
+
+        private final Runnable action;
+
+        private int state = PAUSED;
+        private long deadline;
+        private long remaining;
+
+        private Task(final Runnable action) {
+            this.action = action;
+        }
+
+        /**
+         * Stops the clock, keeping the remaining time.
+         */
+        void pause() {
+            if (state == SCHEDULED) {
+                remaining = Math.max(0, deadline - SystemClock.uptimeMillis());
+                state = PAUSED;
+                QUEUE.remove(this);
+                reschedule();
+            }
+        }
+
+        /**
+         * Restarts the clock with the time that was left when paused.
+         */
+        void resume() {
+            if (state == PAUSED) {
+                deadline = SystemClock.uptimeMillis() + remaining;
+                state = SCHEDULED;
+                QUEUE.add(this);
+                reschedule();
+            }
+        }
+
+        /**
+         * Drops the task for good.
+         */
+        void cancel() {
+            if (state == SCHEDULED) {
+                QUEUE.remove(this);
+                reschedule();
+            }
+
+            state = FINISHED;
+        }
+
+        /**
+         * Is the clock running, i.e. scheduled and not paused.
+         *
+         * @return the boolean
+         */
+        boolean isRunning() {
+            return state == SCHEDULED;
+        }
+
+        /**
+         * Gets the time left before the action runs.
+         *
+         * @return the remaining time in milliseconds
+         */
+        long getRemaining() {
+            switch (state) {
+                case SCHEDULED:
+                    return Math.max(0, deadline - SystemClock.uptimeMillis());
+                case PAUSED:
+                    return remaining;
+                default:
+                    return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,1030 @@
+package com.tapadoo.alerter;
+
+import android.graphics.Bitmap;
+import android.graphics.Typeface;
+import android.net.Uri;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StringRes;
+import android.support.annotation.StyleRes;
+import android.text.Spanned;
+import android.text.SpannedString;
+import android.view.View;
+
+import java.io.File;
+
+/**
+ * An immutable description of an Alert.
+ * <p>
+ * Specs hold no views and no Context, so they can be built on any thread, shared between threads
+ * and kept as templates. {@link Alerter#show(android.app.Activity, AlertSpec)} turns one into an
+ * Alert in a single step on the UI thread; {@link #buildUpon()} derives new specs from it.
+ * <p>
+ * Specs speak the same vocabulary as {@link Alerter}, with a few deliberate exceptions: there
+ * are no setters taking a Drawable, as drawables are stateful and can't be shared between Alerts,
+ * nor for the host, as hosts hold views. Resource ids, bitmaps and Uris cover the former;
+ * {@link Alerter#create(android.app.Activity, AlertSpec)} followed by
+ * {@link Alerter#setHost(AlertHost)} the latter. The theme is applied before every other
+ * property, so that explicit values win over it.
+ * <p>
+ * Styled text is copied when it is set, so later changes to the caller's spans don't leak in.
+ */
+public final class AlertSpec {
+
+    private static final int UNSET = 0;
+    private static final long DURATION_UNSET = -1;
+    private static final int PROGRESS_UNSET = -1;
+
+    private final AlertTheme theme;
+    private final String themeName;
+
+    private final CharSequence title;
+    @StringRes
+    private final int titleId;
+    @StyleRes
+    private final int titleAppearance;
+    private final Typeface titleTypeface;
+    private final String titleTypefacePath;
+    private final CharSequence text;
+    @StringRes
+    private final int textId;
+    @StyleRes
+    private final int textAppearance;
+    private final Typeface textTypeface;
+    private final String textTypefacePath;
+    private final boolean precomputeText;
+
+    private final Integer backgroundColor;
+    @ColorRes
+    private final int backgroundColorRes;
+    @DrawableRes
+    private final int backgroundResource;
+
+    private final Integer barWidth;
+    private final Integer barHeight;
+    private final Integer barMargin;
+    private final Integer contentGravity;
+
+    @DrawableRes
+    private final int iconId;
+    private final Bitmap iconBitmap;
+    private final Uri iconUri;
+    private final File iconFile;
+    private final Integer iconColor;
+    private final boolean showIcon;
+    private final boolean iconPulse;
+    private final int iconPulseCycles;
+
+    @DrawableRes
+    private final int secondIconId;
+    private final Bitmap secondIconBitmap;
+    private final Integer secondIconColor;
+    private final boolean showSecondIcon;
+
+    private final long duration;
+    private final boolean infiniteDuration;
+    private final boolean progress;
+    private final int progressValue;
+    private final Integer progressColor;
+    @ColorRes
+    private final int progressColorRes;
+    private final boolean vibration;
+    private final boolean swipeToDismiss;
+    private final boolean outsideTouchDisabled;
+
+    private final View.OnClickListener onClickListener;
+    private final OnShowAlertListener onShowListener;
+    private final OnHideAlertListener onHideListener;
+    private final AlertMetricsListener metricsListener;
+
+    private final int priority;
+    private final long timeToLive;
+    private final String coalesceKey;
+
+    private AlertSpec(final Builder builder) {
+        theme = builder.theme;
+        themeName = builder.themeName;
+        title = builder.title;
+        titleId = builder.titleId;
+        titleAppearance = builder.titleAppearance;
+        titleTypeface = builder.titleTypeface;
+        titleTypefacePath = builder.titleTypefacePath;
+        text = builder.text;
+        textId = builder.textId;
+        textAppearance = builder.textAppearance;
+        textTypeface = builder.textTypeface;
+        textTypefacePath = builder.textTypefacePath;
+        precomputeText = builder.precomputeText;
+        backgroundColor = builder.backgroundColor;
+        backgroundColorRes = builder.backgroundColorRes;
+        backgroundResource = builder.backgroundResource;
+        barWidth = builder.barWidth;
+        barHeight = builder.barHeight;
+        barMargin = builder.barMargin;
+        contentGravity = builder.contentGravity;
+        iconId = builder.iconId;
+        iconBitmap = builder.iconBitmap;
+        iconUri = builder.iconUri;
+        iconFile = builder.iconFile;
+        iconColor = builder.iconColor;
+        showIcon = builder.showIcon;
+        iconPulse = builder.iconPulse;
+        iconPulseCycles = builder.iconPulseCycles;
+        secondIconId = builder.secondIconId;
+        secondIconBitmap = builder.secondIconBitmap;
+        secondIconColor = builder.secondIconColor;
+        showSecondIcon = builder.showSecondIcon;
+        duration = builder.duration;
+        infiniteDuration = builder.infiniteDuration;
+        progress = builder.progress;
+        progressValue = builder.progressValue;
+        progressColor = builder.progressColor;
+        progressColorRes = builder.progressColorRes;
+        vibration = builder.vibration;
+        swipeToDismiss = builder.swipeToDismiss;
+        outsideTouchDisabled = builder.outsideTouchDisabled;
+        onClickListener = builder.onClickListener;
+        onShowListener = builder.onShowListener;
+        onHideListener = builder.onHideListener;
+        metricsListener = builder.metricsListener;
+        priority = builder.priority;
+        timeToLive = builder.timeToLive;
+        coalesceKey = builder.coalesceKey;
+    }
+
+    /**
+     * Returns a builder holding this spec's values, to derive a new spec from it.
+     *
+     * @return the builder
+     */
+    @NonNull
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    /**
+     * Applies the spec to an Alerter. Must be called from the UI thread.
+     *
+     * @param alerter the alerter
+     * @return the alerter
+     */
+    @NonNull
+    Alerter applyTo(@NonNull final Alerter alerter) {
+        //First, so that every explicit value wins over it
+        if (theme != null) {
+            alerter.setTheme(theme);
+        } else if (themeName != null) {
+            alerter.setTheme(themeName);
+        }
+
+        if (titleId != UNSET) {
+            alerter.setTitle(titleId);
+        } else if (title != null) {
+            alerter.setTitle(title);
+        }
+        if (titleAppearance != UNSET) {
+            alerter.setTitleAppearance(titleAppearance);
+        }
+        if (titleTypeface != null) {
+            alerter.setTitleTypeface(titleTypeface);
+        } else if (titleTypefacePath != null) {
+            alerter.setTitleTypeface(titleTypefacePath);
+        }
+        if (textId != UNSET) {
+            alerter.setText(textId);
+        } else if (text != null) {
+            alerter.setText(text);
+        }
+        if (textAppearance != UNSET) {
+            alerter.setTextAppearance(textAppearance);
+        }
+        if (textTypeface != null) {
+            alerter.setTextTypeface(textTypeface);
+        } else if (textTypefacePath != null) {
+            alerter.setTextTypeface(textTypefacePath);
+        }
+        alerter.enableTextPrecompute(precomputeText);
+
+        if (backgroundResource != UNSET) {
+            alerter.setBackgroundResource(backgroundResource);
+        } else if (backgroundColorRes != UNSET) {
+            alerter.setBackgroundColorRes(backgroundColorRes);
+        } else if (backgroundColor != null) {
+            alerter.setBackgroundColorInt(backgroundColor);
+        }
+
+        if (barWidth != null) {
+            alerter.setBarWidth(barWidth);
+        }
+        if (barHeight != null) {
+            alerter.setBarHeight(barHeight);
+        }
+        if (barMargin != null) {
+            alerter.setBarMargin(barMargin);
+        }
+        if (contentGravity != null) {
+            alerter.setContentGravity(contentGravity);
+        }
+
+        if (iconUri != null || iconFile != null) {
+            if (iconId != UNSET) {
+                alerter.setIcon(iconId);
+            }
+            if (iconUri != null) {
+                alerter.setIcon(iconUri);
+            } else {
+                alerter.setIcon(iconFile);
+            }
+        } else if (iconBitmap != null) {
+            alerter.setIcon(iconBitmap);
+        } else if (iconId != UNSET) {
+            alerter.setIcon(iconId);
+        }
+        if (iconColor != null) {
+            alerter.setFirstIconColor(iconColor);
+        }
+        alerter.showIcon(showIcon);
+        alerter.enableIconPulse(iconPulse);
+        alerter.setIconPulseCycles(iconPulseCycles);
+
+        if (secondIconBitmap != null) {
+            alerter.setSecondIcon(secondIconBitmap);
+        } else if (secondIconId != UNSET) {
+            alerter.setSecondIcon(secondIconId);
+        }
+        if (secondIconColor != null) {
+            alerter.setSecondIconColor(secondIconColor);
+        }
+        if (showSecondIcon) {
+            alerter.showSecondIcon(true);
+        }
+
+        if (duration != DURATION_UNSET) {
+            alerter.setDuration(duration);
+        }
+        alerter.enableInfiniteDuration(infiniteDuration);
+        alerter.enableProgress(progress);
+        if (progressValue != PROGRESS_UNSET) {
+            alerter.setProgress(progressValue);
+        }
+        if (progressColorRes != UNSET) {
+            alerter.setProgressColorRes(progressColorRes);
+        } else if (progressColor != null) {
+            alerter.setProgressColorInt(progressColor);
+        }
+        alerter.enableVibration(vibration);
+        if (swipeToDismiss) {
+            alerter.enableSwipeToDismiss();
+        }
+        if (outsideTouchDisabled) {
+            alerter.disableOutsideTouch();
+        }
+
+        if (onClickListener != null) {
+            alerter.setOnClickListener(onClickListener);
+        }
+        if (onShowListener != null) {
+            alerter.setOnShowListener(onShowListener);
+        }
+        if (onHideListener != null) {
+            alerter.setOnHideListener(onHideListener);
+        }
+        if (metricsListener != null) {
+            alerter.setMetricsListener(metricsListener);
+        }
+
+        alerter.setPriority(priority);
+        alerter.setTimeToLive(timeToLive);
+        if (coalesceKey != null) {
+            alerter.setCoalesceKey(coalesceKey);
+        }
+
+        return alerter;
+    }
+
+    /**
+     * Gets the title, if set as text.
+     *
+     * @return the title
+     */
+    @Nullable
+    public CharSequence getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the text, if set as text.
+     *
+     * @return the text
+     */
+    @Nullable
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Gets the priority.
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    @Nullable
+    private static CharSequence copyOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+
+        return text instanceof Spanned ? new SpannedString(text) : text.toString();
+    }
+
+    /**
+     * Builds an {@link AlertSpec}. Builders are not thread-safe, the specs they build are.
+     */
+    public static final class Builder {
+
+        private AlertTheme theme;
+        private String themeName;
+
+        private CharSequence title;
+        private int titleId;
+        private int titleAppearance;
+        private Typeface titleTypeface;
+        private String titleTypefacePath;
+        private CharSequence text;
+        private int textId;
+        private int textAppearance;
+        private Typeface textTypeface;
+        private String textTypefacePath;
+        private boolean precomputeText;
+
+        private Integer backgroundColor;
+        private int backgroundColorRes;
+        private int backgroundResource;
+
+        private Integer barWidth;
+        private Integer barHeight;
+        private Integer barMargin;
+        private Integer contentGravity;
+
+        private int iconId;
+        private Bitmap iconBitmap;
+        private Uri iconUri;
+        private File iconFile;
+        private Integer iconColor;
+        private boolean showIcon = true;
+        private boolean iconPulse = true;
+        private int iconPulseCycles;
+
+        private int secondIconId;
+        private Bitmap secondIconBitmap;
+        private Integer secondIconColor;
+        private boolean showSecondIcon;
+
+        private long duration = DURATION_UNSET;
+        private boolean infiniteDuration;
+        private boolean progress;
+        private int progressValue = PROGRESS_UNSET;
+        private Integer progressColor;
+        private int progressColorRes;
+        private boolean vibration = true;
+        private boolean swipeToDismiss;
+        private boolean outsideTouchDisabled;
+
+        private View.OnClickListener onClickListener;
+        private OnShowAlertListener onShowListener;
+        private OnHideAlertListener onHideListener;
+        private AlertMetricsListener metricsListener;
+
+        private int priority = AlertQueue.PRIORITY_NORMAL;
+        private long timeToLive = AlertQueue.TIME_TO_LIVE_INFINITE;
+        private String coalesceKey;
+
+        /**
+         * Instantiates a new, empty Builder.
+         */
+        public Builder() {
+            //Defaults match a fresh Alerter
+        }
+
+        private Builder(final AlertSpec spec) {
+            theme = spec.theme;
+            themeName = spec.themeName;
+            title = spec.title;
+            titleId = spec.titleId;
+            titleAppearance = spec.titleAppearance;
+            titleTypeface = spec.titleTypeface;
+            titleTypefacePath = spec.titleTypefacePath;
+            text = spec.text;
+            textId = spec.textId;
+            textAppearance = spec.textAppearance;
+            textTypeface = spec.textTypeface;
+            textTypefacePath = spec.textTypefacePath;
+            precomputeText = spec.precomputeText;
+            backgroundColor = spec.backgroundColor;
+            backgroundColorRes = spec.backgroundColorRes;
+            backgroundResource = spec.backgroundResource;
+            barWidth = spec.barWidth;
+            barHeight = spec.barHeight;
+            barMargin = spec.barMargin;
+            contentGravity = spec.contentGravity;
+            iconId = spec.iconId;
+            iconBitmap = spec.iconBitmap;
+            iconUri = spec.iconUri;
+            iconFile = spec.iconFile;
+            iconColor = spec.iconColor;
+            showIcon = spec.showIcon;
+            iconPulse = spec.iconPulse;
+            iconPulseCycles = spec.iconPulseCycles;
+            secondIconId = spec.secondIconId;
+            secondIconBitmap = spec.secondIconBitmap;
+            secondIconColor = spec.secondIconColor;
+            showSecondIcon = spec.showSecondIcon;
+            duration = spec.duration;
+            infiniteDuration = spec.infiniteDuration;
+            progress = spec.progress;
+            progressValue = spec.progressValue;
+            progressColor = spec.progressColor;
+            progressColorRes = spec.progressColorRes;
+            vibration = spec.vibration;
+            swipeToDismiss = spec.swipeToDismiss;
+            outsideTouchDisabled = spec.outsideTouchDisabled;
+            onClickListener = spec.onClickListener;
+            onShowListener = spec.onShowListener;
+            onHideListener = spec.onHideListener;
+            metricsListener = spec.metricsListener;
+            priority = spec.priority;
+            timeToLive = spec.timeToLive;
+            coalesceKey = spec.coalesceKey;
+        }
+
+        /**
+         * Sets the theme, see {@link Alerter#setTheme(AlertTheme)}.
+         *
+         * @param theme the theme
+         * @return the builder
+         */
+        public Builder setTheme(@Nullable final AlertTheme theme) {
+            this.theme = theme;
+            this.themeName = null;
+            return this;
+        }
+
+        /**
+         * Sets a theme by the name it is registered under, looked up when the Alert is built.
+         *
+         * @param name the name of the theme
+         * @return the builder
+         */
+        public Builder setTheme(@Nullable final String name) {
+            this.themeName = name;
+            this.theme = null;
+            return this;
+        }
+
+        /**
+         * Sets title.
+         *
+         * @param titleId the title id
+         * @return the builder
+         */
+        public Builder setTitle(@StringRes final int titleId) {
+            this.titleId = titleId;
+            this.title = null;
+            return this;
+        }
+
+        /**
+         * Sets title.
+         *
+         * @param title the title
+         * @return the builder
+         */
+        public Builder setTitle(@Nullable final CharSequence title) {
+            this.title = copyOf(title);
+            this.titleId = UNSET;
+            return this;
+        }
+
+        /**
+         * Sets title typeface.
+         *
+         * @param typeface the typeface
+         * @return the builder
+         */
+        public Builder setTitleTypeface(@Nullable final Typeface typeface) {
+            this.titleTypeface = typeface;
+            this.titleTypefacePath = null;
+            return this;
+        }
+
+        /**
+         * Sets title typeface from an asset, see {@link Alerter#setTitleTypeface(String)}.
+         *
+         * @param assetPath the asset path
+         * @return the builder
+         */
+        public Builder setTitleTypeface(@Nullable final String assetPath) {
+            this.titleTypefacePath = assetPath;
+            this.titleTypeface = null;
+            return this;
+        }
+
+        /**
+         * Sets title appearance.
+         *
+         * @param textAppearance the text appearance
+         * @return the builder
+         */
+        public Builder setTitleAppearance(@StyleRes final int textAppearance) {
+            this.titleAppearance = textAppearance;
+            return this;
+        }
+
+        /**
+         * Sets text.
+         *
+         * @param textId the text id
+         * @return the builder
+         */
+        public Builder setText(@StringRes final int textId) {
+            this.textId = textId;
+            this.text = null;
+            return this;
+        }
+
+        /**
+         * Sets text.
+         *
+         * @param text the text
+         * @return the builder
+         */
+        public Builder setText(@Nullable final CharSequence text) {
+            this.text = copyOf(text);
+            this.textId = UNSET;
+            return this;
+        }
+
+        /**
+         * Sets text typeface.
+         *
+         * @param typeface the typeface
+         * @return the builder
+         */
+        public Builder setTextTypeface(@Nullable final Typeface typeface) {
+            this.textTypeface = typeface;
+            this.textTypefacePath = null;
+            return this;
+        }
+
+        /**
+         * Sets text typeface from an asset, see {@link Alerter#setTextTypeface(String)}.
+         *
+         * @param assetPath the asset path
+         * @return the builder
+         */
+        public Builder setTextTypeface(@Nullable final String assetPath) {
+            this.textTypefacePath = assetPath;
+            this.textTypeface = null;
+            return this;
+        }
+
+        /**
+         * Sets text appearance.
+         *
+         * @param textAppearance the text appearance
+         * @return the builder
+         */
+        public Builder setTextAppearance(@StyleRes final int textAppearance) {
+            this.textAppearance = textAppearance;
+            return this;
+        }
+
+        /**
+         * Enable text precompute, see {@link Alerter#enableTextPrecompute(boolean)}.
+         *
+         * @param enable the enable
+         * @return the builder
+         */
+        public Builder enableTextPrecompute(final boolean enable) {
+            this.precomputeText = enable;
+            return this;
+        }
+
+        /**
+         * Sets background color int.
+         *
+         * @param colorInt the color int
+         * @return the builder
+         */
+        public Builder setBackgroundColorInt(@ColorInt final int colorInt) {
+            this.backgroundColor = colorInt;
+            this.backgroundColorRes = UNSET;
+            this.backgroundResource = UNSET;
+            return this;
+        }
+
+        /**
+         * Sets background color res.
+         *
+         * @param colorResId the color res id
+         * @return the builder
+         */
+        public Builder setBackgroundColorRes(@ColorRes final int colorResId) {
+            this.backgroundColorRes = colorResId;
+            this.backgroundColor = null;
+            this.backgroundResource = UNSET;
+            return this;
+        }
+
+        /**
+         * Sets background resource.
+         *
+         * @param drawableResId the drawable res id
+         * @return the builder
+         */
+        public Builder setBackgroundResource(@DrawableRes final int drawableResId) {
+            this.backgroundResource = drawableResId;
+            this.backgroundColorRes = UNSET;
+            this.backgroundColor = null;
+            return this;
+        }
+
+        /**
+         * Sets bar width.
+         *
+         * @param barWidth the bar width
+         * @return the builder
+         */
+        public Builder setBarWidth(final int barWidth) {
+            this.barWidth = barWidth;
+            return this;
+        }
+
+        /**
+         * Sets bar height.
+         *
+         * @param barHeight the bar height
+         * @return the builder
+         */
+        public Builder setBarHeight(final int barHeight) {
+            this.barHeight = barHeight;
+            return this;
+        }
+
+        /**
+         * Sets bar margin.
+         *
+         * @param barMargin the bar margin
+         * @return the builder
+         */
+        public Builder setBarMargin(final int barMargin) {
+            this.barMargin = barMargin;
+            return this;
+        }
+
+        /**
+         * Sets content gravity.
+         *
+         * @param gravity the gravity
+         * @return the builder
+         */
+        public Builder setContentGravity(final int gravity) {
+            this.contentGravity = gravity;
+            return this;
+        }
+
+        /**
+         * Sets icon. Used as the placeholder when an icon Uri is set too.
+         *
+         * @param iconId the icon id
+         * @return the builder
+         */
+        public Builder setIcon(@DrawableRes final int iconId) {
+            this.iconId = iconId;
+            this.iconBitmap = null;
+            return this;
+        }
+
+        /**
+         * Sets icon. The bitmap must not be changed once the spec is built.
+         *
+         * @param bitmap the bitmap
+         * @return the builder
+         */
+        public Builder setIcon(@NonNull final Bitmap bitmap) {
+            this.iconBitmap = bitmap;
+            this.iconUri = null;
+            this.iconFile = null;
+            return this;
+        }
+
+        /**
+         * Sets icon, decoded in the background when the Alert is shown.
+         *
+         * @param uri the uri
+         * @return the builder
+         */
+        public Builder setIcon(@NonNull final Uri uri) {
+            this.iconUri = uri;
+            this.iconBitmap = null;
+            this.iconFile = null;
+            return this;
+        }
+
+        /**
+         * Sets icon, decoded in the background when the Alert is shown.
+         *
+         * @param file the file
+         * @return the builder
+         */
+        public Builder setIcon(@NonNull final File file) {
+            this.iconFile = file;
+            this.iconBitmap = null;
+            this.iconUri = null;
+            return this;
+        }
+
+        /**
+         * Sets first icon color.
+         *
+         * @param colorInt the color int
+         * @return the builder
+         */
+        public Builder setFirstIconColor(@ColorInt final int colorInt) {
+            this.iconColor = colorInt;
+            return this;
+        }
+
+        /**
+         * Show icon.
+         *
+         * @param showIcon the show icon
+         * @return the builder
+         */
+        public Builder showIcon(final boolean showIcon) {
+            this.showIcon = showIcon;
+            return this;
+        }
+
+        /**
+         * Enable icon pulse.
+         *
+         * @param pulse the pulse
+         * @return the builder
+         */
+        public Builder enableIconPulse(final boolean pulse) {
+            this.iconPulse = pulse;
+            return this;
+        }
+
+        /**
+         * Sets icon pulse cycles.
+         *
+         * @param cycles the number of pulses, or zero to pulse until hidden
+         * @return the builder
+         */
+        public Builder setIconPulseCycles(final int cycles) {
+            this.iconPulseCycles = Math.max(0, cycles);
+            return this;
+        }
+
+        /**
+         * Sets second icon.
+         *
+         * @param iconId the icon id
+         * @return the builder
+         */
+        public Builder setSecondIcon(@DrawableRes final int iconId) {
+            this.secondIconId = iconId;
+            this.secondIconBitmap = null;
+            return this;
+        }
+
+        /**
+         * Sets second icon. The bitmap must not be changed once the spec is built.
+         *
+         * @param bitmap the bitmap
+         * @return the builder
+         */
+        public Builder setSecondIcon(@NonNull final Bitmap bitmap) {
+            this.secondIconBitmap = bitmap;
+            this.secondIconId = UNSET;
+            return this;
+        }
+
+        /**
+         * Sets second icon color.
+         *
+         * @param colorInt the color int
+         * @return the builder
+         */
+        public Builder setSecondIconColor(@ColorInt final int colorInt) {
+            this.secondIconColor = colorInt;
+            return this;
+        }
+
+        /**
+         * Show second icon.
+         *
+         * @param showIcon the show icon
+         * @return the builder
+         */
+        public Builder showSecondIcon(final boolean showIcon) {
+            this.showSecondIcon = showIcon;
+            return this;
+        }
+
+        /**
+         * Sets duration.
+         *
+         * @param milliseconds the milliseconds
+         * @return the builder
+         */
+        public Builder setDuration(final long milliseconds) {
+            this.duration = Math.max(0, milliseconds);
+            return this;
+        }
+
+        /**
+         * Enable infinite duration.
+         *
+         * @param infiniteDuration the infinite duration
+         * @return the builder
+         */
+        public Builder enableInfiniteDuration(final boolean infiniteDuration) {
+            this.infiniteDuration = infiniteDuration;
+            return this;
+        }
+
+        /**
+         * Enable progress.
+         *
+         * @param enable the enable
+         * @return the builder
+         */
+        public Builder enableProgress(final boolean enable) {
+            this.progress = enable;
+            return this;
+        }
+
+        /**
+         * Sets progress color int.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setProgressColorInt(@ColorInt final int color) {
+            this.progressColor = color;
+            this.progressColorRes = UNSET;
+            return this;
+        }
+
+        /**
+         * Sets progress color res.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setProgressColorRes(@ColorRes final int color) {
+            this.progressColorRes = color;
+            this.progressColor = null;
+            return this;
+        }
+
+        /**
+         * Sets a determinate progress in place of the countdown, see {@link Alerter#setProgress(int)}.
+         *
+         * @param progress the progress, from 0 to 100
+         * @return the builder
+         */
+        public Builder setProgress(@IntRange(from = 0, to = 100) final int progress) {
+            this.progressValue = Math.max(0, Math.min(100, progress));
+            return this;
+        }
+
+        /**
+         * Enable vibration.
+         *
+         * @param enable the enable
+         * @return the builder
+         */
+        public Builder enableVibration(final boolean enable) {
+            this.vibration = enable;
+            return this;
+        }
+
+        /**
+         * Enable swipe to dismiss.
+         *
+         * @return the builder
+         */
+        public Builder enableSwipeToDismiss() {
+            this.swipeToDismiss = true;
+            return this;
+        }
+
+        /**
+         * Disable outside touch.
+         *
+         * @return the builder
+         */
+        public Builder disableOutsideTouch() {
+            this.outsideTouchDisabled = true;
+            return this;
+        }
+
+        /**
+         * Sets on click listener. Listeners are shared by every Alert shown from the spec.
+         *
+         * @param onClickListener the on click listener
+         * @return the builder
+         */
+        public Builder setOnClickListener(@Nullable final View.OnClickListener onClickListener) {
+            this.onClickListener = onClickListener;
+            return this;
+        }
+
+        /**
+         * Sets on show listener.
+         *
+         * @param listener the listener
+         * @return the builder
+         */
+        public Builder setOnShowListener(@Nullable final OnShowAlertListener listener) {
+            this.onShowListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets on hide listener.
+         *
+         * @param listener the listener
+         * @return the builder
+         */
+        public Builder setOnHideListener(@Nullable final OnHideAlertListener listener) {
+            this.onHideListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets the metrics listener, see {@link Alerter#setMetricsListener(AlertMetricsListener)}.
+         *
+         * @param listener the listener
+         * @return the builder
+         */
+        public Builder setMetricsListener(@Nullable final AlertMetricsListener listener) {
+            this.metricsListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets the priority used by the {@link AlertQueue}.
+         *
+         * @param priority the priority
+         * @return the builder
+         */
+        public Builder setPriority(final int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Sets how long the Alert may wait in the {@link AlertQueue}.
+         *
+         * @param milliseconds the time to live, or {@link AlertQueue#TIME_TO_LIVE_INFINITE}
+         * @return the builder
+         */
+        public Builder setTimeToLive(final long milliseconds) {
+            this.timeToLive = milliseconds;
+            return this;
+        }
+
+        /**
+         * Sets the key the Alert is coalesced by, see {@link Alerter#setCoalesceKey(String)}.
+         *
+         * @param key the key
+         * @return the builder
+         */
+        public Builder setCoalesceKey(@Nullable final String key) {
+            this.coalesceKey = key;
+            return this;
+        }
+
+        /**
+         * Builds the spec.
+         *
+         * @return the alert spec
+         */
+        @NonNull
+        public AlertSpec build() {
+            return new AlertSpec(this);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.tapadoo.alerter;
+
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.support.annotation.StyleRes;
+
+/**
+ * A batch of visual properties for an Alert, from {@link Alert#editStyle()}.
+ * <p>
+ * Properties are only recorded until {@link #apply()}, which applies them in one go: each text
+ * appearance is resolved once, however often it was set, and the bar size, margin and gravity
+ * cost a single layout request between them. Text appearances, typefaces and theme text styles
+ * are applied in the order they were set, so that the last one set wins as if each had been
+ * applied at once. {@link Alerter} records its style setters this way and applies them when the
+ * Alert is shown, before it is attached.
+ */
+public final class AlertStyle {
+
+    private final Alert alert;
+
+    private boolean barWidthSet;
+    private int barWidth;
+    private boolean barHeightSet;
+    private int barHeight;
+    private boolean barMarginSet;
+    private int barMargin;
+    private boolean contentGravitySet;
+    private int contentGravity;
+
+    private static final int STEP_THEME = 0;
+    private static final int STEP_APPEARANCE = 1;
+    private static final int STEP_TYPEFACE = 2;
+
+    private AlertTheme textTheme;
+    private int titleAppearance;
+    private Typeface titleTypeface;
+    private String titleTypefacePath;
+    private int textAppearance;
+    private Typeface textTypeface;
+    private String textTypefacePath;
+
+    //When each text step was last recorded, by STEP_*. Zero if never
+    private int sequence;
+    private final int[] titleSteps = new int[3];
+    private final int[] textSteps = new int[3];
+
+    AlertStyle(@NonNull final Alert alert) {
+        this.alert = alert;
+    }
+
+    /**
+     * Sets bar width.
+     *
+     * @param barWidth the bar width
+     * @return the style
+     */
+    public AlertStyle setBarWidth(final int barWidth) {
+        this.barWidth = barWidth;
+        this.barWidthSet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets bar height.
+     *
+     * @param barHeight the bar height
+     * @return the style
+     */
+    public AlertStyle setBarHeight(final int barHeight) {
+        this.barHeight = barHeight;
+        this.barHeightSet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets bar margin.
+     *
+     * @param barMargin the bar margin
+     * @return the style
+     */
+    public AlertStyle setBarMargin(final int barMargin) {
+        this.barMargin = barMargin;
+        this.barMarginSet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets content gravity.
+     *
+     * @param contentGravity the content gravity
+     * @return the style
+     */
+    public AlertStyle setContentGravity(final int contentGravity) {
+        this.contentGravity = contentGravity;
+        this.contentGravitySet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets title appearance.
+     *
+     * @param textAppearance the text appearance
+     * @return the style
+     */
+    public AlertStyle setTitleAppearance(@StyleRes final int textAppearance) {
+        this.titleAppearance = textAppearance;
+        titleSteps[STEP_APPEARANCE] = ++sequence;
+
+        return this;
+    }
+
+    /**
+     * Sets title typeface, applied over the title appearance.
+     *
+     * @param typeface the typeface
+     * @return the style
+     */
+    public AlertStyle setTitleTypeface(@NonNull final Typeface typeface) {
+        this.titleTypeface = typeface;
+        this.titleTypefacePath = null;
+        titleSteps[STEP_TYPEFACE] = ++sequence;
+
+        return this;
+    }
+
+    /**
+     * Sets title typeface from an asset, see {@link Alert#setTitleTypeface(String)}.
+     *
+     * @param assetPath the asset path
+     * @return the style
+     */
+    public AlertStyle setTitleTypeface(@NonNull final String assetPath) {
+        this.titleTypefacePath = assetPath;
+        this.titleTypeface = null;
+        titleSteps[STEP_TYPEFACE] = ++sequence;
+
+        return this;
+    }
+
+    /**
+     * Sets text appearance.
+     *
+     * @param textAppearance the text appearance
+     * @return the style
+     */
+    public AlertStyle setTextAppearance(@StyleRes final int textAppearance) {
+        this.textAppearance = textAppearance;
+        textSteps[STEP_APPEARANCE] = ++sequence;
+
+        return this;
+    }
+
+    /**
+     * Sets text typeface, applied over the text appearance.
+     *
+     * @param typeface the typeface
+     * @return the style
+     */
+    public AlertStyle setTextTypeface(@NonNull final Typeface typeface) {
+        this.textTypeface = typeface;
+        this.textTypefacePath = null;
+        textSteps[STEP_TYPEFACE] = ++sequence;
+
+        return this;
+    }
+
+    /**
+     * Sets text typeface from an asset, see {@link Alert#setTextTypeface(String)}.
+     *
+     * @param assetPath the asset path
+     * @return the style
+     */
+    public AlertStyle setTextTypeface(@NonNull final String assetPath) {
+        this.textTypefacePath = assetPath;
+        this.textTypeface = null;
+        textSteps[STEP_TYPEFACE] = ++sequence;
+
+        return this;
+    }
+
+    /**
+     * Sets the theme the title and text are styled with, see {@link Alerter#setTheme(AlertTheme)}.
+     *
+     * @param theme the theme
+     * @return the style
+     */
+    AlertStyle setTextTheme(@NonNull final AlertTheme theme) {
+        this.textTheme = theme;
+        titleSteps[STEP_THEME] = ++sequence;
+        textSteps[STEP_THEME] = sequence;
+
+        return this;
+    }
+
+    /**
+     * Applies the recorded properties to the Alert. Must be called from the UI thread, ideally
+     * before the Alert is shown.
+     */
+    public void apply() {
+        applySteps(true, titleSteps);
+        applySteps(false, textSteps);
+
+        if (barWidthSet || barHeightSet || barMarginSet || contentGravitySet) {
+            alert.setBarLayout(
+                    barWidthSet ? barWidth : alert.getBarWidth(),
+                    barHeightSet ? barHeight : alert.getBarHeight(),
+                    barMarginSet ? barMargin : alert.getBarMargin(),
+                    contentGravitySet ? contentGravity : alert.getContentGravity());
+        }
+    }
+
+    //Runs the recorded steps of the title or text, oldest first
+    private void applySteps(final boolean title, @NonNull final int[] steps) {
+        int last = 0;
+        while (true) {
+            int next = -1;
+            for (int step = 0; step < steps.length; step++) {
+                if (steps[step] > last && (next == -1 || steps[step] < steps[next])) {
+                    next = step;
+                }
+            }
+            if (next == -1) {
+                return;
+            }
+
+            last = steps[next];
+            if (title) {
+                applyTitleStep(next);
+            } else {
+                applyTextStep(next);
+            }
+        }
+    }
+
+    private void applyTitleStep(final int step) {
+        if (step == STEP_THEME) {
+            alert.setTitleTheme(textTheme);
+        } else if (step == STEP_APPEARANCE) {
+            alert.setTitleAppearance(titleAppearance);
+        } else if (titleTypeface != null) {
+            alert.setTitleTypeface(titleTypeface);
+        } else {
+            alert.setTitleTypeface(titleTypefacePath);
+        }
+    }
+
+    private void applyTextStep(final int step) {
+        if (step == STEP_THEME) {
+            alert.setTextTheme(textTheme);
+        } else if (step == STEP_APPEARANCE) {
+            alert.setTextAppearance(textAppearance);
+        } else if (textTypeface != null) {
+            alert.setTextTypeface(textTypeface);
+        } else {
+            alert.setTextTypeface(textTypefacePath);
+        }
+    }
+}
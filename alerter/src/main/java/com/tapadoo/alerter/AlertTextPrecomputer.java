@@ -0,0 +1,73 @@
+package com.tapadoo.alerter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.View;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out an Alert's title and text on a background thread before the Alert is attached.
+ * <p>
+ * A TextView always builds its own layout while it is measured, so the layouts built here are
+ * thrown away. Building them shapes every word with the TextView's own paint though, and the
+ * platform keeps shaped words in a process wide cache, which leaves line breaking from cached
+ * measurements for the UI thread.
+ */
+final class AlertTextPrecomputer {
+
+    private static final String TAG = AlertTextPrecomputer.class.getSimpleName();
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private AlertTextPrecomputer() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Lays out the text of some TextViews in the background, then runs an action on the UI thread.
+     * Must be called from the UI thread.
+     *
+     * @param views   the views, hidden or empty ones are skipped
+     * @param width   the width the text will be laid out at
+     * @param onReady the action
+     */
+    static void precompute(@NonNull final TextView[] views, final int width, @NonNull final Runnable onReady) {
+        //Snapshot the text and paints on the UI thread, the views may change while we work
+        final List<CharSequence> texts = new ArrayList<>(views.length);
+        final List<TextPaint> paints = new ArrayList<>(views.length);
+        for (final TextView view : views) {
+            if (view != null && view.getVisibility() != View.GONE && !TextUtils.isEmpty(view.getText())) {
+                texts.add(view.getText());
+                paints.add(new TextPaint(view.getPaint()));
+            }
+        }
+
+        if (texts.isEmpty() || width <= 0) {
+            onReady.run();
+            return;
+        }
+
+        AlertPrewarmer.getBackgroundHandler().post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < texts.size(); i++) {
+                        new StaticLayout(texts.get(i), paints.get(i), width, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+                    }
+                } catch (Exception ex) {
+                    AlerterLog.e(TAG, "Unable to precompute the text", ex);
+                }
+
+                MAIN_HANDLER.post(onReady);
+            }
+        });
+    }
+}
@@ -0,0 +1,565 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.ColorFilter;
+import android.graphics.LightingColorFilter;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StyleRes;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LruCache;
+import android.util.TypedValue;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import com.tapadoo.android.R;
+
+import java.util.HashMap;
+import java.util.WeakHashMap;
+
+/**
+ * The resolved look of an Alert: colors, text styles and color filters, ready to apply without
+ * any resource lookups.
+ * <p>
+ * {@link #of(Context)} resolves the default look, including {@code R.attr.alertStyle}, once per
+ * Context theme and caches it, so Alerts built in the same Activity share it. Apps can build
+ * their own themes from it and register them by name, e.g. "error" or "success", to select them
+ * with {@link Alerter#setTheme(String)}.
+ * <p>
+ * Themes only carry the color, size and style of a text appearance. Alerts without a theme are
+ * given {@code AlertTextAppearance.Title} and {@code AlertTextAppearance.Text} in full, like the
+ * layout does, so overrides of those keep every attribute.
+ * <p>
+ * Themes are immutable and may be built and shared across threads.
+ */
+public final class AlertTheme {
+
+    //Progress colors are multiplied in, as LinearProgress draws white
+    private static final int MUL = 0xFF000000;
+
+    private static final int MAX_CACHED_COLORS = 16;
+
+    //Sorted by attribute id, as obtainStyledAttributes requires
+    private static final int[] TEXT_APPEARANCE = {android.R.attr.textSize, android.R.attr.textStyle, android.R.attr.textColor};
+
+    //Guarded by themselves
+    private static final WeakHashMap<Resources.Theme, AlertTheme> RESOLVED = new WeakHashMap<>();
+    private static final HashMap<String, AlertTheme> NAMED = new HashMap<>();
+
+    private static final LruCache<Integer, ColorFilter> PROGRESS_FILTERS = new LruCache<>(MAX_CACHED_COLORS);
+    private static final LruCache<Integer, ColorStateList> COLOR_STATE_LISTS = new LruCache<>(MAX_CACHED_COLORS);
+
+    private final int backgroundColor;
+    private final int iconColor;
+    private final TextStyle title;
+    private final TextStyle text;
+    private final boolean progressColorSet;
+    private final int progressColor;
+    private final Bar bar;
+
+    private AlertTheme(@NonNull final Builder builder) {
+        backgroundColor = builder.backgroundColor;
+        iconColor = builder.iconColor;
+        title = builder.title;
+        text = builder.text;
+        progressColorSet = builder.progressColorSet;
+        progressColor = builder.progressColor;
+        bar = builder.bar;
+    }
+
+    /**
+     * Gets the default theme of a Context, resolved on first use and cached for its theme.
+     *
+     * @param context the context
+     * @return the theme
+     */
+    @NonNull
+    public static AlertTheme of(@NonNull final Context context) {
+        final Resources.Theme key = context.getTheme();
+
+        synchronized (RESOLVED) {
+            AlertTheme theme = RESOLVED.get(key);
+            if (theme == null) {
+                theme = resolve(context);
+                RESOLVED.put(key, theme);
+            }
+
+            return theme;
+        }
+    }
+
+    /**
+     * Registers a theme under a name, replacing any theme of that name.
+     *
+     * @param name  the name, e.g. "error"
+     * @param theme the theme
+     */
+    public static void register(@NonNull final String name, @NonNull final AlertTheme theme) {
+        if (name == null || theme == null) {
+            throw new IllegalArgumentException("Name and theme cannot be null!");
+        }
+
+        synchronized (NAMED) {
+            NAMED.put(name, theme);
+        }
+    }
+
+    /**
+     * Removes a named theme.
+     *
+     * @param name the name
+     */
+    public static void unregister(@NonNull final String name) {
+        synchronized (NAMED) {
+            NAMED.remove(name);
+        }
+    }
+
+    /**
+     * Gets a named theme.
+     *
+     * @param name the name
+     * @return the theme, or null if none is registered under that name
+     */
+    @Nullable
+    public static AlertTheme get(@NonNull final String name) {
+        synchronized (NAMED) {
+            return NAMED.get(name);
+        }
+    }
+
+    /**
+     * Drops the resolved default themes, e.g. once the configuration changed.
+     */
+    static void clearCache() {
+        synchronized (RESOLVED) {
+            RESOLVED.clear();
+        }
+    }
+
+    /**
+     * Gets the shared filter tinting the progress bar, as set by {@link Alert#setProgressColorInt(int)}.
+     *
+     * @param color the color
+     * @return the filter
+     */
+    @NonNull
+    static ColorFilter progressColorFilter(@ColorInt final int color) {
+        ColorFilter filter = PROGRESS_FILTERS.get(color);
+        if (filter == null) {
+            filter = new LightingColorFilter(MUL, color);
+            PROGRESS_FILTERS.put(color, filter);
+        }
+
+        return filter;
+    }
+
+    /**
+     * Gets a shared single color state list.
+     *
+     * @param color the color
+     * @return the color state list
+     */
+    @NonNull
+    static ColorStateList colorStateList(@ColorInt final int color) {
+        ColorStateList colors = COLOR_STATE_LISTS.get(color);
+        if (colors == null) {
+            colors = ColorStateList.valueOf(color);
+            COLOR_STATE_LISTS.put(color, colors);
+        }
+
+        return colors;
+    }
+
+    /**
+     * Gets background color.
+     *
+     * @return the background color
+     */
+    @ColorInt
+    public int getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    /**
+     * Gets icon color.
+     *
+     * @return the icon color
+     */
+    @ColorInt
+    public int getIconColor() {
+        return iconColor;
+    }
+
+    /**
+     * Builds a copy of this theme to change.
+     *
+     * @param context the context, used to resolve resources set on the builder
+     * @return the builder
+     */
+    @NonNull
+    public Builder buildUpon(@NonNull final Context context) {
+        return new Builder(context, this);
+    }
+
+    /**
+     * Applies the theme to an Alert.
+     *
+     * @param alert the alert
+     */
+    void applyTo(@NonNull final Alert alert) {
+        applyColorsTo(alert);
+        alert.setTitleTheme(this);
+        alert.setTextTheme(this);
+    }
+
+    /**
+     * Applies the background, icon and progress colors of the theme to an Alert, leaving the
+     * title and text alone.
+     *
+     * @param alert the alert
+     */
+    void applyColorsTo(@NonNull final Alert alert) {
+        alert.setAlertBackgroundColor(backgroundColor);
+        alert.setIvIconColorFilter(AlertIconCache.colorFilter(iconColor));
+
+        if (progressColorSet) {
+            alert.setProgressColorInt(progressColor);
+        }
+    }
+
+    /**
+     * Applies the title style to a TextView.
+     *
+     * @param view the view
+     */
+    void applyTitle(@NonNull final TextView view) {
+        title.applyTo(view);
+    }
+
+    /**
+     * Applies the text style to a TextView.
+     *
+     * @param view the view
+     */
+    void applyText(@NonNull final TextView view) {
+        text.applyTo(view);
+    }
+
+    /**
+     * Applies the bar attributes of {@code R.attr.alertStyle} to a bar built in code.
+     *
+     * @param background the bar
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    void applyBar(@NonNull final AlertLayout background) {
+        background.setLayoutParams(new FrameLayout.LayoutParams(bar.width, bar.height));
+        background.setMinimumHeight(bar.minHeight);
+        background.setPadding(bar.paddingLeft, bar.paddingTop, bar.paddingRight, bar.paddingBottom);
+        background.setBackgroundColor(backgroundColor);
+        background.setClickable(true);
+
+        //The foreground is stateful, so each bar gets its own drawable from the shared state
+        if (bar.foreground != null) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                background.setForeground(bar.foreground.newDrawable(background.getResources(), background.getContext().getTheme()));
+            } else {
+                background.setForeground(bar.foreground.newDrawable(background.getResources()));
+            }
+        }
+    }
+
+    private static AlertTheme resolve(@NonNull final Context context) {
+        final Builder builder = new Builder(context, null);
+        builder.backgroundColor = ContextCompat.getColor(context, android.R.color.darker_gray);
+        builder.iconColor = ContextCompat.getColor(context, R.color.alert_default_icon_color);
+        builder.title = TextStyle.resolve(context, R.style.AlertTextAppearance_Title);
+        builder.text = TextStyle.resolve(context, R.style.AlertTextAppearance_Text);
+        builder.bar = Bar.resolve(context);
+
+        return builder.build();
+    }
+
+    /**
+     * Builds a theme, starting from another one
+     */
+    public static final class Builder {
+
+        private final Context context;
+
+        private int backgroundColor;
+        private int iconColor;
+        private TextStyle title;
+        private TextStyle text;
+        private boolean progressColorSet;
+        private int progressColor;
+        private Bar bar;
+
+        /**
+         * Starts from the default theme of the Context.
+         *
+         * @param context the context
+         */
+        public Builder(@NonNull final Context context) {
+            this(context, of(context));
+        }
+
+        private Builder(@NonNull final Context context, @Nullable final AlertTheme base) {
+            this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+
+            if (base != null) {
+                backgroundColor = base.backgroundColor;
+                iconColor = base.iconColor;
+                title = base.title;
+                text = base.text;
+                progressColorSet = base.progressColorSet;
+                progressColor = base.progressColor;
+                bar = base.bar;
+            }
+        }
+
+        /**
+         * Sets background color int.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setBackgroundColorInt(@ColorInt final int color) {
+            backgroundColor = color;
+            return this;
+        }
+
+        /**
+         * Sets background color res.
+         *
+         * @param color the color res
+         * @return the builder
+         */
+        public Builder setBackgroundColorRes(@ColorRes final int color) {
+            return setBackgroundColorInt(ContextCompat.getColor(context, color));
+        }
+
+        /**
+         * Sets icon color int.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setIconColorInt(@ColorInt final int color) {
+            iconColor = color;
+            return this;
+        }
+
+        /**
+         * Sets title color int.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setTitleColorInt(@ColorInt final int color) {
+            title = title.withColors(colorStateList(color));
+            return this;
+        }
+
+        /**
+         * Sets text color int.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setTextColorInt(@ColorInt final int color) {
+            text = text.withColors(colorStateList(color));
+            return this;
+        }
+
+        /**
+         * Sets title typeface.
+         *
+         * @param typeface the typeface
+         * @return the builder
+         */
+        public Builder setTitleTypeface(@Nullable final Typeface typeface) {
+            title = title.withTypeface(typeface);
+            return this;
+        }
+
+        /**
+         * Sets text typeface.
+         *
+         * @param typeface the typeface
+         * @return the builder
+         */
+        public Builder setTextTypeface(@Nullable final Typeface typeface) {
+            text = text.withTypeface(typeface);
+            return this;
+        }
+
+        /**
+         * Sets the title color, size and style from a text appearance, resolved now.
+         *
+         * @param textAppearance the text appearance
+         * @return the builder
+         */
+        public Builder setTitleAppearance(@StyleRes final int textAppearance) {
+            title = TextStyle.resolve(context, textAppearance, title);
+            return this;
+        }
+
+        /**
+         * Sets the text color, size and style from a text appearance, resolved now.
+         *
+         * @param textAppearance the text appearance
+         * @return the builder
+         */
+        public Builder setTextAppearance(@StyleRes final int textAppearance) {
+            text = TextStyle.resolve(context, textAppearance, text);
+            return this;
+        }
+
+        /**
+         * Sets progress color int.
+         *
+         * @param color the color
+         * @return the builder
+         */
+        public Builder setProgressColorInt(@ColorInt final int color) {
+            progressColor = color;
+            progressColorSet = true;
+            return this;
+        }
+
+        /**
+         * Sets progress color res.
+         *
+         * @param color the color res
+         * @return the builder
+         */
+        public Builder setProgressColorRes(@ColorRes final int color) {
+            return setProgressColorInt(ContextCompat.getColor(context, color));
+        }
+
+        /**
+         * Builds the theme.
+         *
+         * @return the theme
+         */
+        @NonNull
+        public AlertTheme build() {
+            return new AlertTheme(this);
+        }
+    }
+
+    /**
+     * The resolved attributes of a text appearance
+     */
+    private static final class TextStyle {
+
+        private final ColorStateList colors;
+        private final float size;
+        private final int style;
+        private final Typeface typeface;
+
+        TextStyle(@Nullable final ColorStateList colors, final float size, final int style, @Nullable final Typeface typeface) {
+            this.colors = colors;
+            this.size = size;
+            this.style = style;
+            this.typeface = typeface;
+        }
+
+        static TextStyle resolve(@NonNull final Context context, @StyleRes final int textAppearance) {
+            return resolve(context, textAppearance, new TextStyle(null, 0, Typeface.NORMAL, null));
+        }
+
+        //Attributes missing from the appearance keep the base's values
+        static TextStyle resolve(@NonNull final Context context, @StyleRes final int textAppearance, @NonNull final TextStyle base) {
+            final TypedArray attributes = context.obtainStyledAttributes(textAppearance, TEXT_APPEARANCE);
+            try {
+                final ColorStateList colors = attributes.getColorStateList(2);
+                return new TextStyle(
+                        colors != null ? colors : base.colors,
+                        attributes.getDimension(0, base.size),
+                        attributes.getInt(1, base.style),
+                        base.typeface);
+            } finally {
+                attributes.recycle();
+            }
+        }
+
+        TextStyle withColors(@NonNull final ColorStateList colors) {
+            return new TextStyle(colors, size, style, typeface);
+        }
+
+        TextStyle withTypeface(@Nullable final Typeface typeface) {
+            return new TextStyle(colors, size, style, typeface);
+        }
+
+        void applyTo(@NonNull final TextView view) {
+            if (colors != null) {
+                view.setTextColor(colors);
+            }
+            if (size > 0) {
+                view.setTextSize(TypedValue.COMPLEX_UNIT_PX, size);
+            }
+            view.setTypeface(typeface, style);
+        }
+    }
+
+    /**
+     * The resolved attributes of {@code R.attr.alertStyle}, for bars built in code
+     */
+    private static final class Bar {
+
+        private int width;
+        private int height;
+        private int minHeight;
+        private int paddingLeft;
+        private int paddingTop;
+        private int paddingRight;
+        private int paddingBottom;
+        private Drawable.ConstantState foreground;
+
+        static Bar resolve(@NonNull final Context context) {
+            final Bar bar = new Bar();
+
+            final TypedArray style = context.obtainStyledAttributes(null, R.styleable.AlertLayout, R.attr.alertStyle, R.style.AlertStyle);
+            try {
+                bar.width = style.getLayoutDimension(R.styleable.AlertLayout_android_layout_width, ViewGroup.LayoutParams.MATCH_PARENT);
+                bar.height = style.getLayoutDimension(R.styleable.AlertLayout_android_layout_height, ViewGroup.LayoutParams.WRAP_CONTENT);
+                bar.minHeight = style.getDimensionPixelSize(R.styleable.AlertLayout_android_minHeight, 0);
+
+                final int padding = style.getDimensionPixelSize(R.styleable.AlertLayout_android_padding, -1);
+                if (padding >= 0) {
+                    bar.paddingLeft = padding;
+                    bar.paddingTop = padding;
+                    bar.paddingRight = padding;
+                    bar.paddingBottom = padding;
+                } else {
+                    bar.paddingLeft = style.getDimensionPixelSize(R.styleable.AlertLayout_android_paddingLeft, 0);
+                    bar.paddingTop = style.getDimensionPixelSize(R.styleable.AlertLayout_android_paddingTop, 0);
+                    bar.paddingRight = style.getDimensionPixelSize(R.styleable.AlertLayout_android_paddingRight, 0);
+                    bar.paddingBottom = style.getDimensionPixelSize(R.styleable.AlertLayout_android_paddingBottom, 0);
+                }
+            } finally {
+                style.recycle();
+            }
+
+            final TypedValue value = new TypedValue();
+            if (context.getTheme().resolveAttribute(R.attr.selectableItemBackground, value, true) && value.resourceId != 0) {
+                final Drawable drawable = ContextCompat.getDrawable(context, value.resourceId);
+                bar.foreground = drawable != null ? drawable.getConstantState() : null;
+            }
+
+            return bar;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Process wide cache of typefaces loaded from assets.
+ * <p>
+ * Fonts are read and parsed on a background thread, never on the UI thread, and each asset is
+ * loaded at most once: requests for a font still loading wait for that load, and a font that
+ * failed to load isn't tried again. Alerts keep their theme's font until theirs is ready.
+ * Fonts can be loaded ahead of time with {@link #preload(Context, String...)}, e.g. at app
+ * startup.
+ */
+public final class AlertTypefaceCache {
+
+    private static final String TAG = AlertTypefaceCache.class.getSimpleName();
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    //Guarded by LOADED. A null value marks an asset that failed to load
+    private static final HashMap<String, Typeface> LOADED = new HashMap<>();
+    private static final HashMap<String, List<Callback>> PENDING = new HashMap<>();
+
+    private AlertTypefaceCache() {
+        //Utility classes should not be instantiated
+    }
+
+    /**
+     * Called on the UI thread once a typeface is loaded
+     */
+    interface Callback {
+
+        /**
+         * Typeface loaded.
+         *
+         * @param typeface the typeface
+         */
+        void onTypefaceLoaded(@NonNull Typeface typeface);
+    }
+
+    /**
+     * Starts loading typefaces in the background, if they aren't loaded or loading already.
+     *
+     * @param context    the context
+     * @param assetPaths the asset paths, e.g. "fonts/Roboto-Medium.ttf"
+     */
+    public static void preload(@NonNull final Context context, @NonNull final String... assetPaths) {
+        for (final String assetPath : assetPaths) {
+            load(context, assetPath, null);
+        }
+    }
+
+    /**
+     * Gets a typeface, if it has been loaded.
+     *
+     * @param assetPath the asset path
+     * @return the typeface, or null if it isn't loaded yet or failed to load
+     */
+    @Nullable
+    public static Typeface get(@NonNull final String assetPath) {
+        synchronized (LOADED) {
+            return LOADED.get(assetPath);
+        }
+    }
+
+    /**
+     * Loads a typeface. The callback is run on the UI thread once it is loaded, straight away if
+     * it already is and the caller is on the UI thread, and never if the font can't be loaded.
+     *
+     * @param context   the context
+     * @param assetPath the asset path
+     * @param callback  the callback, or null to only load the typeface
+     */
+    static void load(@NonNull final Context context, @NonNull final String assetPath, @Nullable final Callback callback) {
+        final Typeface loaded;
+
+        synchronized (LOADED) {
+            if (LOADED.containsKey(assetPath)) {
+                loaded = LOADED.get(assetPath);
+            } else {
+                List<Callback> callbacks = PENDING.get(assetPath);
+                final boolean loading = callbacks != null;
+                if (!loading) {
+                    callbacks = new ArrayList<>(1);
+                    PENDING.put(assetPath, callbacks);
+                }
+                if (callback != null) {
+                    callbacks.add(callback);
+                }
+                if (!loading) {
+                    startLoad(context.getApplicationContext().getAssets(), assetPath);
+                }
+
+                return;
+            }
+        }
+
+        if (loaded != null && callback != null) {
+            deliver(loaded, callback);
+        }
+    }
+
+    private static void startLoad(final AssetManager assets, final String assetPath) {
+        AlertPrewarmer.getBackgroundHandler().post(new Runnable() {
+            @Override
+            public void run() {
+                Typeface typeface = null;
+                try {
+                    typeface = Typeface.createFromAsset(assets, assetPath);
+                } catch (Exception ex) {
+                    AlerterLog.e(TAG, "Unable to load the typeface ", assetPath, ex);
+                }
+
+                final List<Callback> callbacks;
+                synchronized (LOADED) {
+                    LOADED.put(assetPath, typeface);
+                    callbacks = PENDING.remove(assetPath);
+                }
+
+                if (typeface != null && callbacks != null) {
+                    for (final Callback callback : callbacks) {
+                        deliver(typeface, callback);
+                    }
+                }
+            }
+        });
+    }
+
+    private static void deliver(@NonNull final Typeface typeface, @NonNull final Callback callback) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            callback.onTypefaceLoaded(typeface);
+        } else {
+            MAIN_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onTypefaceLoaded(typeface);
+                }
+            });
+        }
+    }
+}
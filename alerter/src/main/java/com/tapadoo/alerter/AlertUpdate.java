@@ -0,0 +1,327 @@
+package com.tapadoo.alerter;
+
+import android.graphics.Bitmap;
+import android.graphics.ColorFilter;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StringRes;
+import android.support.v4.content.ContextCompat;
+
+/**
+ * A batch of changes to an Alert that is already showing, from {@link Alert#update()}.
+ * <p>
+ * Changes are applied to the live Alert in one go, without the fade out of the current Alert and
+ * the slide in of a new one. Colors, tints and progress only redraw the bar, and new text only
+ * triggers a layout pass if it changes the height of the text, e.g. when it wraps onto another
+ * line. The content may crossfade into its new state.
+ * <p>
+ * Updates may be built and applied from any thread; they take effect on the UI thread. An update
+ * belongs to the show of the Alert it was started for: once that Alert is hidden or recycled, the
+ * update is dropped rather than applied to whatever the Alert shows next.
+ */
+public final class AlertUpdate {
+
+    private static final int NOT_SET = -1;
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final Alert alert;
+    private final int generation;
+
+    private boolean titleSet;
+    private CharSequence title;
+    private boolean textSet;
+    private CharSequence text;
+
+    private int iconId;
+    private Bitmap iconBitmap;
+    private Drawable iconDrawable;
+    private Uri iconUri;
+    private ColorFilter iconColorFilter;
+    private int showIcon = NOT_SET;
+
+    private boolean backgroundColorSet;
+    private int backgroundColor;
+
+    private int progress = NOT_SET;
+    private boolean restartHideTimer;
+    private boolean crossfade;
+
+    AlertUpdate(@NonNull final Alert alert, final int generation) {
+        this.alert = alert;
+        this.generation = generation;
+    }
+
+    /**
+     * Sets title.
+     *
+     * @param titleId the title id
+     * @return the update
+     */
+    public AlertUpdate setTitle(@StringRes final int titleId) {
+        return setTitle(alert.getContext().getString(titleId));
+    }
+
+    /**
+     * Sets title, which may be styled. An empty title hides it.
+     *
+     * @param title the title
+     * @return the update
+     */
+    public AlertUpdate setTitle(@Nullable final CharSequence title) {
+        this.title = title;
+        this.titleSet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets text.
+     *
+     * @param textId the text id
+     * @return the update
+     */
+    public AlertUpdate setText(@StringRes final int textId) {
+        return setText(alert.getContext().getString(textId));
+    }
+
+    /**
+     * Sets text, which may be styled. An empty text hides it.
+     *
+     * @param text the text
+     * @return the update
+     */
+    public AlertUpdate setText(@Nullable final CharSequence text) {
+        this.text = text;
+        this.textSet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param iconId the icon id
+     * @return the update
+     */
+    public AlertUpdate setIcon(@DrawableRes final int iconId) {
+        this.iconId = iconId;
+        this.iconBitmap = null;
+        this.iconDrawable = null;
+        this.iconUri = null;
+
+        return this;
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param bitmap the bitmap
+     * @return the update
+     */
+    public AlertUpdate setIcon(@NonNull final Bitmap bitmap) {
+        this.iconId = 0;
+        this.iconBitmap = bitmap;
+        this.iconDrawable = null;
+        this.iconUri = null;
+
+        return this;
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param drawable the drawable
+     * @return the update
+     */
+    public AlertUpdate setIcon(@NonNull final Drawable drawable) {
+        this.iconId = 0;
+        this.iconBitmap = null;
+        this.iconDrawable = drawable;
+        this.iconUri = null;
+
+        return this;
+    }
+
+    /**
+     * Sets icon, decoded in the background at the icon's size.
+     *
+     * @param uri the uri
+     * @return the update
+     */
+    public AlertUpdate setIcon(@NonNull final Uri uri) {
+        this.iconId = 0;
+        this.iconBitmap = null;
+        this.iconDrawable = null;
+        this.iconUri = uri;
+
+        return this;
+    }
+
+    /**
+     * Sets the first icon color.
+     *
+     * @param colorInt the color int
+     * @return the update
+     */
+    public AlertUpdate setFirstIconColor(@ColorInt final int colorInt) {
+        return setIconColorFilter(AlertIconCache.colorFilter(colorInt));
+    }
+
+    /**
+     * Show icon.
+     *
+     * @param showIcon the show icon
+     * @return the update
+     */
+    public AlertUpdate showIcon(final boolean showIcon) {
+        this.showIcon = showIcon ? 1 : 0;
+
+        return this;
+    }
+
+    /**
+     * Sets background color int.
+     *
+     * @param colorInt the color int
+     * @return the update
+     */
+    public AlertUpdate setBackgroundColorInt(@ColorInt final int colorInt) {
+        this.backgroundColor = colorInt;
+        this.backgroundColorSet = true;
+
+        return this;
+    }
+
+    /**
+     * Sets background color res.
+     *
+     * @param colorResId the color res id
+     * @return the update
+     */
+    public AlertUpdate setBackgroundColorRes(@ColorRes final int colorResId) {
+        return setBackgroundColorInt(ContextCompat.getColor(alert.getContext(), colorResId));
+    }
+
+    /**
+     * Sets a determinate progress, see {@link Alert#setProgress(int)}.
+     *
+     * @param progress the progress, from 0 to 100
+     * @return the update
+     */
+    public AlertUpdate setProgress(@IntRange(from = 0, to = 100) final int progress) {
+        this.progress = Math.max(0, Math.min(100, progress));
+
+        return this;
+    }
+
+    /**
+     * Restarts the hide timer, so that the Alert stays for its full duration after the update.
+     *
+     * @return the update
+     */
+    public AlertUpdate restartHideTimer() {
+        this.restartHideTimer = true;
+
+        return this;
+    }
+
+    /**
+     * Crossfades the content into its new state, rather than changing it at once.
+     *
+     * @param crossfade the crossfade
+     * @return the update
+     */
+    public AlertUpdate enableCrossfade(final boolean crossfade) {
+        this.crossfade = crossfade;
+
+        return this;
+    }
+
+    /**
+     * Applies the changes to the Alert. Updates applied once the Alert is hiding, hidden or
+     * recycled are dropped.
+     */
+    public void apply() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            applyNow();
+        } else {
+            MAIN_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    applyNow();
+                }
+            });
+        }
+    }
+
+    AlertUpdate setIconColorFilter(@Nullable final ColorFilter filter) {
+        this.iconColorFilter = filter;
+
+        return this;
+    }
+
+    private void applyNow() {
+        if (alert.isHiding() || alert.getGeneration() != generation) {
+            return;
+        }
+
+        final Runnable change = new Runnable() {
+            @Override
+            public void run() {
+                applyContent();
+            }
+        };
+
+        if (crossfade && alert.getWindowToken() != null) {
+            alert.crossfadeContent(change);
+        } else {
+            change.run();
+        }
+
+        //Progress is already drawn at most once a frame, and the timer isn't part of the content
+        if (progress != NOT_SET) {
+            alert.setProgress(progress);
+        }
+        if (restartHideTimer) {
+            alert.restartHideTimer();
+        }
+    }
+
+    private void applyContent() {
+        if (titleSet) {
+            alert.replaceTitle(title);
+        }
+        if (textSet) {
+            alert.replaceText(text);
+        }
+
+        if (iconId != 0) {
+            alert.setIcon(iconId);
+        } else if (iconBitmap != null) {
+            alert.setIcon(iconBitmap);
+        } else if (iconDrawable != null) {
+            alert.setIcon(iconDrawable);
+        } else if (iconUri != null) {
+            alert.setIcon(iconUri);
+        }
+        if (iconColorFilter != null) {
+            alert.setIvIconColorFilter(iconColorFilter);
+        }
+        if (showIcon != NOT_SET) {
+            alert.showIcon(showIcon == 1);
+        }
+
+        if (backgroundColorSet) {
+            alert.setAlertBackgroundColor(backgroundColor);
+        }
+    }
+}
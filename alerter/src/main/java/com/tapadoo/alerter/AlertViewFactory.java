@@ -0,0 +1,237 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StyleRes;
+import android.support.v4.view.ViewCompat;
+import android.support.v7.content.res.AppCompatResources;
+import android.support.v7.view.ContextThemeWrapper;
+import android.support.v7.widget.AppCompatImageView;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import com.tapadoo.android.R;
+
+/**
+ * Builds the Alert view tree in code.
+ * <p>
+ * Produces the same views, ids and attributes as {@code R.layout.alerter_alert_view} without
+ * going through the LayoutInflater, its XML parser or reflective view construction. The bar
+ * picks up {@code R.attr.alertStyle} from the theme, falling back to {@code @style/AlertStyle}, as
+ * resolved by {@link AlertTheme#of(android.content.Context)}.
+ * Apps that override the layout can switch back to inflation with
+ * {@link Alerter#setInflateFromXml(boolean)}.
+ */
+final class AlertViewFactory {
+
+    private static volatile boolean inflateFromXml;
+
+    private AlertViewFactory() {
+        //Utility classes should not be instantiated
+    }
+
+    static boolean isInflateFromXml() {
+        return inflateFromXml;
+    }
+
+    static void setInflateFromXml(final boolean inflate) {
+        inflateFromXml = inflate;
+    }
+
+    /**
+     * Creates the full screen click shield, @+id/flClickShield.
+     */
+    @NonNull
+    static FrameLayout createClickShield(@NonNull final Context context) {
+        final FrameLayout clickShield = new FrameLayout(context);
+        clickShield.setId(R.id.flClickShield);
+        clickShield.setLayoutParams(new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        clickShield.setBackgroundColor(Color.TRANSPARENT);
+        clickShield.setClickable(false);
+
+        return clickShield;
+    }
+
+    /**
+     * Creates the bar, @+id/flAlertBackground, styled with the theme's alertStyle.
+     */
+    @NonNull
+    static AlertLayout createBackground(@NonNull final Context context) {
+        final AlertLayout background = new AlertLayout(context);
+        background.setId(R.id.flAlertBackground);
+
+        //Resolved once per theme, rather than for every Alert
+        AlertTheme.of(context).applyBar(background);
+
+        return background;
+    }
+
+    /**
+     * Replaces the bar of a layout overridden before AlertLayout, a plain ViewGroup with the
+     * content nested in it, by an AlertLayout holding the same content views. The views keep
+     * their own attributes, and the bar its id, size, padding, background and foreground; only
+     * the arrangement of the content comes from AlertLayout. Other views in the bar are dropped.
+     *
+     * @param legacy  the bar, @+id/flAlertBackground
+     * @param content the content views found by id, any of which may be null
+     * @return the bar which took its place
+     */
+    @NonNull
+    static AlertLayout adoptLegacyBackground(@NonNull final View legacy, @NonNull final View... content) {
+        final AlertLayout background = new AlertLayout(legacy.getContext());
+        background.setId(legacy.getId());
+        background.setPadding(legacy.getPaddingLeft(), legacy.getPaddingTop(), legacy.getPaddingRight(), legacy.getPaddingBottom());
+        background.setMinimumHeight(ViewCompat.getMinimumHeight(legacy));
+        background.setClickable(legacy.isClickable());
+
+        final Drawable drawable = legacy.getBackground();
+        ViewCompat.setBackground(legacy, null);
+        ViewCompat.setBackground(background, drawable);
+        if (legacy instanceof FrameLayout) {
+            final Drawable foreground = ((FrameLayout) legacy).getForeground();
+            ((FrameLayout) legacy).setForeground(null);
+            background.setForeground(foreground);
+        }
+
+        //Nested views are moved up, their old layout params are converted by AlertLayout
+        for (final View view : content) {
+            if (view != null) {
+                AlertHost.removeFromParent(view);
+                background.addView(view);
+            }
+        }
+
+        final ViewGroup parent = (ViewGroup) legacy.getParent();
+        final int index = parent.indexOfChild(legacy);
+        final ViewGroup.LayoutParams params = legacy.getLayoutParams();
+        parent.removeViewAt(index);
+        parent.addView(background, index, params);
+
+        return background;
+    }
+
+    /**
+     * Creates an icon, @+id/ivIcon or @+id/lvIcon, showing the default notification icon.
+     */
+    @NonNull
+    static ImageView createIcon(@NonNull final Context context, final int id) {
+        final int size = context.getResources().getDimensionPixelSize(R.dimen.alerter_alert_icn_size);
+
+        final ImageView icon = new AppCompatImageView(context);
+        icon.setId(id);
+        icon.setLayoutParams(new FrameLayout.LayoutParams(size, size));
+        icon.setMaxWidth(size);
+        icon.setMaxHeight(size);
+        icon.setImageDrawable(AppCompatResources.getDrawable(context, R.drawable.alerter_ic_notifications));
+        applyDefaultTint(icon);
+
+        return icon;
+    }
+
+    /**
+     * Creates the title, @+id/tvTitle. Hidden until text is set.
+     */
+    @NonNull
+    static TextView createTitle(@NonNull final Context context) {
+        final TextView title = new TextView(context);
+        title.setId(R.id.tvTitle);
+        title.setLayoutParams(new FrameLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        resetTitleAppearance(title);
+        title.setVisibility(TextView.GONE);
+
+        return title;
+    }
+
+    /**
+     * Creates the text, @+id/tvText. Hidden until text is set.
+     */
+    @NonNull
+    static TextView createText(@NonNull final Context context) {
+        final int padding = context.getResources().getDimensionPixelSize(R.dimen.alerter_padding_small);
+
+        final TextView text = new TextView(context);
+        text.setId(R.id.tvText);
+        text.setLayoutParams(new FrameLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        text.setPadding(0, padding, 0, padding);
+        resetTextAppearance(text);
+        text.setVisibility(TextView.GONE);
+
+        return text;
+    }
+
+    /**
+     * Creates the horizontal progress bar, @+id/pbProgress, pinned to the bottom of the bar.
+     */
+    @NonNull
+    static ProgressBar createProgress(@NonNull final Context context) {
+        final Context themedContext = new ContextThemeWrapper(context, R.style.LinearProgress_Horizontal);
+        final int height = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 10, context.getResources().getDisplayMetrics());
+
+        final ProgressBar progress = new ProgressBar(themedContext, null, android.R.attr.progressBarStyleHorizontal);
+        progress.setId(R.id.pbProgress);
+        progress.setLayoutParams(new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, height, Gravity.BOTTOM));
+        progress.setIndeterminate(true);
+
+        return progress;
+    }
+
+    /**
+     * Applies the default icon tint, the same way {@code android:tint} does in the layout.
+     *
+     * @param icon the icon
+     */
+    static void applyDefaultTint(@NonNull final ImageView icon) {
+        final int color = AlertTheme.of(icon.getContext()).getIconColor();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            icon.clearColorFilter();
+            icon.setImageTintList(AlertTheme.colorStateList(color));
+        } else {
+            icon.setColorFilter(AlertIconCache.colorFilter(color));
+        }
+    }
+
+    /**
+     * Applies the default title appearance in full, as the layout does, so that overrides of it
+     * keep their font family, caps or shadow.
+     *
+     * @param title the title
+     */
+    static void resetTitleAppearance(@NonNull final TextView title) {
+        applyTextAppearance(title, R.style.AlertTextAppearance_Title);
+    }
+
+    /**
+     * Applies the default text appearance in full, as the layout does.
+     *
+     * @param text the text
+     */
+    static void resetTextAppearance(@NonNull final TextView text) {
+        applyTextAppearance(text, R.style.AlertTextAppearance_Text);
+    }
+
+    /**
+     * Applies a text appearance on every API level.
+     *
+     * @param textView       the text view
+     * @param textAppearance the text appearance
+     */
+    @SuppressWarnings("deprecation")
+    static void applyTextAppearance(@NonNull final TextView textView, @StyleRes final int textAppearance) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            textView.setTextAppearance(textAppearance);
+        } else {
+            textView.setTextAppearance(textView.getContext(), textAppearance);
+        }
+    }
+}
@@ -1,26 +1,25 @@
 package com.tapadoo.alerter;
 
 import android.app.Activity;
+import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.net.Uri;
 import android.os.Build;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
 import android.support.annotation.DrawableRes;
+import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RequiresApi;
 import android.support.annotation.StringRes;
 import android.support.annotation.StyleRes;
 import android.support.v4.content.ContextCompat;
-import android.support.v4.view.ViewCompat;
-import android.util.Log;
 import android.view.View;
-import android.view.ViewGroup;
-
-import com.tapadoo.android.R;
 
+import java.io.File;
 import java.lang.ref.WeakReference;
 
 /**
@@ -28,10 +27,25 @@ import java.lang.ref.WeakReference;
  */
 public final class Alerter {
 
-    private static WeakReference<Activity> activityWeakReference;
+    private static final String TAG = Alerter.class.getSimpleName();
+
+    private WeakReference<Activity> activityWeakReference;
 
     private Alert alert;
 
+    private AlertHost host;
+
+    private int priority = AlertQueue.PRIORITY_NORMAL;
+
+    private long timeToLive = AlertQueue.TIME_TO_LIVE_INFINITE;
+
+    private String coalesceKey;
+
+    //Visual properties, applied in one go when the Alert is shown
+    private AlertStyle style;
+
+    private static volatile boolean reuseVisibleAlert;
+
     private Alerter() {
         //Utility classes should not be instantiated
     }
@@ -49,15 +63,126 @@ public final class Alerter {
 
         final Alerter alerter = new Alerter();
 
-        //Hide current Alert, if one is active
-        Alerter.clearCurrent(activity);
+        //Hide current Alert, if one is active. Queued Alerts wait their turn instead
+        if (!AlertQueue.isEnabled() && !defersClearCurrent()) {
+            Alerter.clearCurrent(activity);
+        }
 
         alerter.setActivity(activity);
-        alerter.setAlert(new Alert(activity));
+        alerter.setAlert(AlertPool.obtain(activity));
 
         return alerter;
     }
 
+    /**
+     * Create alerter from a spec. Must be called from the UI thread.
+     *
+     * @param activity the activity
+     * @param spec     the spec
+     * @return the alerter
+     */
+    public static Alerter create(@NonNull final Activity activity, @NonNull final AlertSpec spec) {
+        return spec.applyTo(create(activity));
+    }
+
+    /**
+     * Shows an Alert built from a spec. May be called from any thread: the Alert is built and
+     * shown in one step on the UI thread.
+     *
+     * @param activity the activity
+     * @param spec     the spec
+     */
+    public static void show(@NonNull final Activity activity, @NonNull final AlertSpec spec) {
+        if (activity == null || spec == null) {
+            throw new IllegalArgumentException("Activity and spec cannot be null!");
+        }
+
+        final Runnable show = new Runnable() {
+            @Override
+            public void run() {
+                final Alerter alerter = create(activity, spec);
+                alerter.applyStyle();
+                if (alerter.coalesce(activity) || alerter.updateVisible(activity)) {
+                    return;
+                }
+                alerter.showAllowed(activity);
+            }
+        };
+
+        //Dropped specs never build an Alert
+        if (AlertFloodControl.isEnabled()) {
+            AlertFloodControl.offer(show, null);
+        } else {
+            activity.runOnUiThread(show);
+        }
+    }
+
+    /**
+     * Loads the resources of Alerts for the given Activity on a background thread, so that the
+     * first Alert costs no more than later ones. With pooling enabled, Alerts are then built on the
+     * UI thread and kept ready for {@link #create(Activity)}, as many as {@link AlertPool} has room
+     * for.
+     *
+     * @param context the Activity Alerts will be shown in
+     * @param count   the number of Alerts to prepare
+     */
+    public static void prewarm(@NonNull final Context context, final int count) {
+        if (context == null) {
+            throw new IllegalArgumentException("Context cannot be null!");
+        }
+
+        AlertPrewarmer.prewarm(context, Math.max(0, count));
+    }
+
+    /**
+     * Builds Alerts by inflating {@code R.layout.alerter_alert_view} rather than in code. Only
+     * needed by apps that override the layout.
+     *
+     * @param inflate the inflate
+     */
+    public static void setInflateFromXml(final boolean inflate) {
+        AlertViewFactory.setInflateFromXml(inflate);
+        AlertPool.clear();
+    }
+
+    /**
+     * Sets the listener receiving the {@link AlertMetrics} of every Alert without a listener of
+     * its own. Metrics are only collected while a listener is set.
+     *
+     * @param listener the listener, or null to stop collecting
+     */
+    public static void setGlobalMetricsListener(@Nullable final AlertMetricsListener listener) {
+        AlertMetricsTracker.setGlobalListener(listener);
+    }
+
+    /**
+     * Sets the logger receiving Alerter's messages. Defaults to Logcat.
+     *
+     * @param logger the logger, or null to drop all messages
+     */
+    public static void setLogger(@Nullable final AlerterLogger logger) {
+        AlerterLog.setLogger(logger);
+    }
+
+    /**
+     * Sets the lowest priority passed on to the logger. Defaults to {@link android.util.Log#ERROR}.
+     *
+     * @param priority one of the {@link android.util.Log} priority constants
+     */
+    public static void setLogLevel(final int priority) {
+        AlerterLog.setLevel(priority);
+    }
+
+    /**
+     * Enables systrace / Perfetto sections around building, attaching, animating and removing
+     * Alerts. Disabled by default.
+     *
+     * @param enable the enable
+     */
+    public static void setTraceEnabled(final boolean enable) {
+        AlerterTrace.setEnabled(enable);
+    }
+
     /**
      * Clear current.
      *
@@ -69,56 +194,67 @@ public final class Alerter {
         }
 
         try {
-            final ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
-
-            //Find all Alert Views in Parent layout
-            for (int i = 0; i < decorView.getChildCount(); i++) {
-                final Alert childView = decorView.getChildAt(i) instanceof Alert ? (Alert) decorView.getChildAt(i) : null;
-                if (childView != null && childView.getWindowToken() != null) {
-                    ViewCompat.animate(childView).alpha(0).withEndAction(getRemoveViewRunnable(childView));
-                }
+            for (final AlertHost host : AlertHosts.registered(activity)) {
+                host.clear();
             }
-
         } catch (Exception ex) {
-            Log.e(Alerter.class.getClass().getSimpleName(), Log.getStackTraceString(ex));
+            AlerterLog.e(TAG, "Unable to clear the current Alert", ex);
         }
     }
 
     /**
-     * Hide.
+     * Sets whether showing an Alert while another one is visible updates the visible Alert in
+     * place, crossfading its title, text, icon and background, rather than replacing it. The Alert
+     * returned by {@link #show()} is then recycled rather than shown.
+     *
+     * @param reuse the reuse
+     */
+    public static void setReuseVisibleAlert(final boolean reuse) {
+        reuseVisibleAlert = reuse;
+    }
+
+    /**
+     * Hides the Alerts showing in every window.
      */
     public static void hide() {
-        if (activityWeakReference != null && activityWeakReference.get() != null) {
-            clearCurrent(activityWeakReference.get());
+        try {
+            for (final AlertHost host : AlertHosts.all()) {
+                host.clear();
+            }
+        } catch (Exception ex) {
+            AlerterLog.e(TAG, "Unable to hide the current Alerts", ex);
         }
     }
 
-    @NonNull
-    private static Runnable getRemoveViewRunnable(final Alert childView) {
-        return new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    ((ViewGroup) childView.getParent()).removeView(childView);
-                } catch (Exception e) {
-                    Log.e(getClass().getSimpleName(), Log.getStackTraceString(e));
-                }
+    /**
+     * Is an Alert showing in any window.
+     *
+     * @return the boolean
+     */
+    public static boolean isShowing() {
+        for (final AlertHost host : AlertHosts.all()) {
+            if (host.isShowing()) {
+                return true;
             }
-        };
+        }
+
+        return false;
     }
 
     /**
-     * Is showing boolean.
+     * Is an Alert showing in the given Activity's window.
      *
+     * @param activity the activity
      * @return the boolean
      */
-    public static boolean isShowing() {
-        boolean isShowing = false;
-        if (activityWeakReference != null && activityWeakReference.get() != null) {
-            isShowing = activityWeakReference.get().findViewById(R.id.flAlertBackground) != null;
+    public static boolean isShowing(@NonNull final Activity activity) {
+        for (final AlertHost host : AlertHosts.registered(activity)) {
+            if (host.isShowing()) {
+                return true;
+            }
         }
 
-        return isShowing;
+        return false;
     }
 
     /**
@@ -127,23 +263,246 @@ public final class Alerter {
      * @return the alert
      */
     public Alert show() {
-        //This will get the Activity Window's DecorView
-        if (getActivityWeakReference() != null) {
-            getActivityWeakReference().get().runOnUiThread(new Runnable() {
+        final Activity activity = getActivityWeakReference() != null ? getActivityWeakReference().get() : null;
+
+        if (activity == null) {
+            return getAlert();
+        }
+
+        applyStyle();
+
+        //Duplicates and updates are folded into the visible Alert before flood control sees them
+        if (AlertCoalescer.isEnabled() || reuseVisibleAlert) {
+            activity.runOnUiThread(new Runnable() {
                 @Override
                 public void run() {
-                    //Add the new Alert to the View Hierarchy
-                    final ViewGroup decorView = getActivityDecorView();
-                    if (decorView != null && getAlert().getParent() == null) {
-                        decorView.addView(getAlert());
+                    if (!coalesce(activity) && !updateVisible(activity)) {
+                        offer(activity);
                     }
                 }
             });
+        } else {
+            offer(activity);
         }
 
         return getAlert();
     }
 
+    private void offer(@NonNull final Activity activity) {
+        if (AlertFloodControl.isEnabled()) {
+            AlertFloodControl.offer(new Runnable() {
+                @Override
+                public void run() {
+                    showAllowed(activity);
+                }
+            }, getAlert());
+        } else {
+            showAllowed(activity);
+        }
+    }
+
+    //Folds the Alert into a visible duplicate where it would be shown, if there is one. Must be called from the UI thread
+    private boolean coalesce(@NonNull final Activity activity) {
+        if (!AlertCoalescer.isEnabled()) {
+            return false;
+        }
+
+        final Alert alert = getAlert();
+        alert.setCoalesceKey(coalesceKey != null ? coalesceKey : alert.getContentKey());
+        final AlertHost target = host != null ? AlertHosts.register(host) : AlertHosts.of(activity);
+        if (alert.getCoalesceKey() == null || !AlertCoalescer.coalesce(alert.getCoalesceKey(), target)) {
+            return false;
+        }
+
+        //Never shown, so it is dropped rather than hidden
+        alert.onDropped();
+        return true;
+    }
+
+    //Applies the Alert's content to the visible Alert, if reuse is on. Must be called from the UI thread
+    private boolean updateVisible(@NonNull final Activity activity) {
+        if (!reuseVisibleAlert) {
+            return false;
+        }
+
+        final AlertHost target = host != null ? host : AlertHosts.of(activity);
+        final View current = target.current();
+        if (!(current instanceof Alert) || ((Alert) current).isHiding()) {
+            return false;
+        }
+
+        final Alert alert = getAlert();
+        final AlertUpdate update = alert.updateOf((Alert) current)
+                .restartHideTimer()
+                .enableCrossfade(true);
+
+        //Never shown, and the update carries copies of its content
+        alert.onDropped();
+        update.apply();
+
+        return true;
+    }
+
+    //Whether the visible Alert is only cleared once the next one is actually shown
+    private static boolean defersClearCurrent() {
+        return AlertFloodControl.isEnabled() || AlertCoalescer.isEnabled() || reuseVisibleAlert;
+    }
+
+    //Shows the Alert once past flood control
+    private void showAllowed(@NonNull final Activity activity) {
+        //Only tracked once accepted, so that dropped and coalesced Alerts leave no tracker behind
+        getAlert().startMetrics();
+
+        if (getAlert().isPrecomputeText()) {
+            //Shown once its text is laid out
+            final Alert alert = getAlert();
+            activity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    alert.precomputeText(new Runnable() {
+                        @Override
+                        public void run() {
+                            dispatch(activity, alert);
+                        }
+                    });
+                }
+            });
+        } else {
+            dispatch(activity, getAlert());
+        }
+    }
+
+    private void dispatch(@NonNull final Activity activity, @NonNull final Alert alert) {
+        if (AlertQueue.isEnabled()) {
+            AlertQueue.enqueue(activity, host, alert, priority, timeToLive);
+        } else {
+            activity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    //Under flood control or coalescing the visible Alert stays until this one is let through
+                    if (defersClearCurrent()) {
+                        clearCurrent(activity);
+                    }
+                    if (!attach(activity, host, alert)) {
+                        alert.onDropped();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds the Alert to its host, if it isn't attached already.
+     * Must be called from the UI thread.
+     *
+     * @param activity the activity
+     * @param host     the host, or null for the Activity's DecorView
+     * @param alert    the alert
+     * @return whether the Alert was added
+     */
+    static boolean attach(@Nullable final Activity activity, @Nullable final AlertHost host, @NonNull final Alert alert) {
+        if (activity == null || activity.isFinishing()) {
+            return false;
+        }
+
+        final boolean traced = AlerterTrace.begin(AlerterTrace.ATTACH);
+
+        //Add the new Alert to the View Hierarchy
+        final AlertHost target = host != null ? AlertHosts.register(host) : AlertHosts.of(activity);
+        final boolean added = target.add(alert);
+        if (added) {
+            alert.setHost(target);
+            if (alert.getCoalesceKey() != null) {
+                AlertCoalescer.register(alert.getCoalesceKey(), alert);
+            }
+        }
+
+        AlerterTrace.end(traced);
+
+        return added;
+    }
+
+    /**
+     * Sets where the Alert is shown, in place of the Activity's DecorView.
+     *
+     * @param host the host, e.g. {@link AlertHost#overlay(Activity)}
+     * @return the alerter
+     */
+    public Alerter setHost(@NonNull final AlertHost host) {
+        this.host = host;
+
+        return this;
+    }
+
+    /**
+     * Sets the priority used by the {@link AlertQueue}. An Alert preempts visible Alerts with a
+     * lower priority.
+     *
+     * @param priority the priority, e.g. {@link AlertQueue#PRIORITY_HIGH}
+     * @return the alerter
+     */
+    public Alerter setPriority(final int priority) {
+        this.priority = priority;
+
+        return this;
+    }
+
+    /**
+     * Sets how long the Alert may wait in the {@link AlertQueue} before it is dropped.
+     *
+     * @param milliseconds the time to live, or {@link AlertQueue#TIME_TO_LIVE_INFINITE}
+     * @return the alerter
+     */
+    public Alerter setTimeToLive(final long milliseconds) {
+        this.timeToLive = milliseconds;
+
+        return this;
+    }
+
+    /**
+     * Sets the theme, see {@link AlertTheme}.
+     *
+     * @param theme the theme
+     * @return the alerter
+     */
+    public Alerter setTheme(@NonNull final AlertTheme theme) {
+        if (getAlert() != null) {
+            //Colors apply now, like the color setters; text styles in order with the recorded appearances
+            theme.applyColorsTo(getAlert());
+            editStyle().setTextTheme(theme);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets a theme registered with {@link AlertTheme#register(String, AlertTheme)}.
+     *
+     * @param name the name of the theme
+     * @return the alerter
+     */
+    public Alerter setTheme(@NonNull final String name) {
+        final AlertTheme theme = AlertTheme.get(name);
+        if (theme == null) {
+            throw new IllegalArgumentException("No theme registered as " + name + "!");
+        }
+
+        return setTheme(theme);
+    }
+
+    /**
+     * Sets the key this Alert is coalesced by when {@link AlertCoalescer} is enabled, in place of
+     * its title and text.
+     *
+     * @param key the key
+     * @return the alerter
+     */
+    public Alerter setCoalesceKey(@NonNull final String key) {
+        this.coalesceKey = key;
+
+        return this;
+    }
+
     /**
      * Sets title.
      *
@@ -172,6 +531,20 @@ public final class Alerter {
         return this;
     }
 
+    /**
+     * Sets title, which may be styled.
+     *
+     * @param title the title
+     * @return the title
+     */
+    public Alerter setTitle(final CharSequence title) {
+        if (getAlert() != null) {
+            getAlert().setTitle(title);
+        }
+
+        return this;
+    }
+
     /**
      * Sets title typeface.
      *
@@ -180,7 +553,22 @@ public final class Alerter {
      */
     public Alerter setTitleTypeface(@NonNull final Typeface typeface) {
         if (getAlert() != null) {
-            getAlert().setTitleTypeface(typeface);
+            editStyle().setTitleTypeface(typeface);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets title typeface from an asset. The font is loaded once, in the background, and the title
+     * keeps the theme's font until it is ready. See {@link AlertTypefaceCache}.
+     *
+     * @param assetPath the asset path, e.g. "fonts/Roboto-Medium.ttf"
+     * @return the alerter
+     */
+    public Alerter setTitleTypeface(@NonNull final String assetPath) {
+        if (getAlert() != null) {
+            editStyle().setTitleTypeface(assetPath);
         }
 
         return this;
@@ -194,7 +582,7 @@ public final class Alerter {
      */
     public Alerter setTitleAppearance(@StyleRes final int textAppearance) {
         if (getAlert() != null) {
-            getAlert().setTitleAppearance(textAppearance);
+            editStyle().setTitleAppearance(textAppearance);
         }
 
         return this;
@@ -208,7 +596,7 @@ public final class Alerter {
      */
     public Alerter setContentGravity(final int gravity) {
         if (getAlert() != null) {
-            getAlert().setContentGravity(gravity);
+            editStyle().setContentGravity(gravity);
         }
 
         return this;
@@ -222,7 +610,7 @@ public final class Alerter {
      */
     public Alerter setBarHeight(final int barHeight) {
         if (getAlert() != null) {
-            getAlert().setBarHeight(barHeight);
+            editStyle().setBarHeight(barHeight);
         }
 
         return this;
@@ -236,7 +624,7 @@ public final class Alerter {
      */
     public Alerter setBarWidth(final int barWidth) {
         if (getAlert() != null) {
-            getAlert().setBarWidth(barWidth);
+            editStyle().setBarWidth(barWidth);
         }
 
         return this;
@@ -250,7 +638,7 @@ public final class Alerter {
      */
     public Alerter setBarMargin(final int barMargin) {
         if (getAlert() != null) {
-            getAlert().setBarMargin(barMargin);
+            editStyle().setBarMargin(barMargin);
         }
 
         return this;
@@ -284,6 +672,36 @@ public final class Alerter {
         return this;
     }
 
+    /**
+     * Sets text, which may be styled.
+     *
+     * @param text the text
+     * @return the text
+     */
+    public Alerter setText(final CharSequence text) {
+        if (getAlert() != null) {
+            getAlert().setText(text);
+        }
+
+        return this;
+    }
+
+    /**
+     * Lays out the title and text on a background thread before the Alert is attached, so that
+     * long or heavily styled text doesn't hold up the first frame. The Alert appears once the
+     * text is ready.
+     *
+     * @param enable the enable
+     * @return the alerter
+     */
+    public Alerter enableTextPrecompute(final boolean enable) {
+        if (getAlert() != null) {
+            getAlert().setPrecomputeText(enable);
+        }
+
+        return this;
+    }
+
     /**
      * Sets text typeface.
      *
@@ -292,7 +710,22 @@ public final class Alerter {
      */
     public Alerter setTextTypeface(@NonNull final Typeface typeface) {
         if (getAlert() != null) {
-            getAlert().setTextTypeface(typeface);
+            editStyle().setTextTypeface(typeface);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets text typeface from an asset. The font is loaded once, in the background, and the text
+     * keeps the theme's font until it is ready. See {@link AlertTypefaceCache}.
+     *
+     * @param assetPath the asset path, e.g. "fonts/Roboto-Medium.ttf"
+     * @return the alerter
+     */
+    public Alerter setTextTypeface(@NonNull final String assetPath) {
+        if (getAlert() != null) {
+            editStyle().setTextTypeface(assetPath);
         }
 
         return this;
@@ -306,7 +739,7 @@ public final class Alerter {
      */
     public Alerter setTextAppearance(@StyleRes final int textAppearance) {
         if (getAlert() != null) {
-            getAlert().setTextAppearance(textAppearance);
+            editStyle().setTextAppearance(textAppearance);
         }
 
         return this;
@@ -454,6 +887,34 @@ public final class Alerter {
         return this;
     }
 
+    /**
+     * Sets icon, decoded off the UI thread. The current icon is shown until it is ready.
+     *
+     * @param uri the uri
+     * @return the icon
+     */
+    public Alerter setIcon(@NonNull final Uri uri) {
+        if (getAlert() != null) {
+            getAlert().setIcon(uri);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets icon, decoded off the UI thread. The current icon is shown until it is ready.
+     *
+     * @param file the file
+     * @return the icon
+     */
+    public Alerter setIcon(@NonNull final File file) {
+        if (getAlert() != null) {
+            getAlert().setIcon(file);
+        }
+
+        return this;
+    }
+
     /**
      * Sets second icon.
      *
@@ -530,7 +991,7 @@ public final class Alerter {
      */
     public Alerter hideSecondIcon() {
         if (getAlert() != null) {
-            getAlert().getSecondIcon().setVisibility(View.GONE);
+            getAlert().showSecondIcon(false);
         }
 
         return this;
@@ -576,6 +1037,19 @@ public final class Alerter {
         return this;
     }
 
+    /**
+     * Sets how many times the icon pulses before settling, by default until the Alert is hidden.
+     *
+     * @param cycles the number of pulses, or zero to pulse until hidden
+     * @return the alerter
+     */
+    public Alerter setIconPulseCycles(final int cycles) {
+        if (getAlert() != null) {
+            getAlert().setIconPulseCycles(cycles);
+        }
+        return this;
+    }
+
     /**
      * Show icon alerter.
      *
@@ -654,6 +1128,19 @@ public final class Alerter {
         return this;
     }
 
+    /**
+     * Sets the metrics listener for this Alert, in place of the global one.
+     *
+     * @param listener the listener
+     * @return the alerter
+     */
+    public Alerter setMetricsListener(@NonNull final AlertMetricsListener listener) {
+        if (getAlert() != null) {
+            getAlert().setMetricsListener(listener);
+        }
+        return this;
+    }
+
     /**
      * Enable swipe to dismiss alerter.
      *
@@ -721,6 +1208,21 @@ public final class Alerter {
         return this;
     }
 
+    /**
+     * Sets a determinate progress in place of the countdown. The shown Alert's
+     * {@link Alert#setProgress(int)} can be called from any thread to update it.
+     *
+     * @param progress the progress, from 0 to 100
+     * @return the alerter
+     */
+    public Alerter setProgress(@IntRange(from = 0, to = 100) final int progress) {
+        if (getAlert() != null) {
+            getAlert().setProgress(progress);
+        }
+
+        return this;
+    }
+
     /**
      * Sets progress color res.
      *
@@ -753,6 +1255,21 @@ public final class Alerter {
         return alert;
     }
 
+    private AlertStyle editStyle() {
+        if (style == null) {
+            style = getAlert().editStyle();
+        }
+
+        return style;
+    }
+
+    private void applyStyle() {
+        if (style != null) {
+            style.apply();
+            style = null;
+        }
+    }
+
     private void setAlert(final Alert alert) {
         this.alert = alert;
     }
@@ -762,17 +1279,6 @@ public final class Alerter {
         return activityWeakReference;
     }
 
-    @Nullable
-    private ViewGroup getActivityDecorView() {
-        ViewGroup decorView = null;
-
-        if (getActivityWeakReference() != null && getActivityWeakReference().get() != null) {
-            decorView = (ViewGroup) getActivityWeakReference().get().getWindow().getDecorView();
-        }
-
-        return decorView;
-    }
-
     private void setActivity(@NonNull final Activity activity) {
         activityWeakReference = new WeakReference<>(activity);
     }
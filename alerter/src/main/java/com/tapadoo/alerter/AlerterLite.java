@@ -0,0 +1,276 @@
+package com.tapadoo.alerter;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+import android.support.v4.content.ContextCompat;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Builds and shows an {@link AlertLite}, the canvas-drawn counterpart of {@link Alerter}
+ * for text-only messages.
+ */
+public final class AlerterLite {
+
+    private final WeakReference<Activity> activityWeakReference;
+
+    private final AlertLite alert;
+
+    private AlertHost host;
+
+    private AlerterLite(@NonNull final Activity activity) {
+        activityWeakReference = new WeakReference<>(activity);
+        alert = new AlertLite(activity);
+    }
+
+    /**
+     * Create alerter lite.
+     *
+     * @param activity the activity
+     * @return the alerter lite
+     */
+    public static AlerterLite create(@NonNull final Activity activity) {
+        if (activity == null) {
+            throw new IllegalArgumentException("Activity cannot be null!");
+        }
+
+        //Hide current Alert, if one is active
+        Alerter.clearCurrent(activity);
+
+        return new AlerterLite(activity);
+    }
+
+    /**
+     * Show alert.
+     *
+     * @return the alert
+     */
+    public AlertLite show() {
+        final Activity activity = activityWeakReference.get();
+
+        if (activity != null) {
+            activity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    //Add the new Alert to the View Hierarchy
+                    final AlertHost target = host != null ? AlertHosts.register(host) : AlertHosts.of(activity);
+                    if (target.add(alert)) {
+                        alert.setHost(target);
+                    }
+                }
+            });
+        }
+
+        return alert;
+    }
+
+    /**
+     * Sets where the Alert is shown, in place of the Activity's DecorView.
+     *
+     * @param host the host
+     * @return the alerter lite
+     */
+    public AlerterLite setHost(@NonNull final AlertHost host) {
+        this.host = host;
+
+        return this;
+    }
+
+    /**
+     * Sets title.
+     *
+     * @param titleId the title id
+     * @return the title
+     */
+    public AlerterLite setTitle(@StringRes final int titleId) {
+        alert.setTitle(alert.getContext().getString(titleId));
+
+        return this;
+    }
+
+    /**
+     * Sets title.
+     *
+     * @param title the title
+     * @return the title
+     */
+    public AlerterLite setTitle(final CharSequence title) {
+        alert.setTitle(title);
+
+        return this;
+    }
+
+    /**
+     * Sets text.
+     *
+     * @param textId the text id
+     * @return the text
+     */
+    public AlerterLite setText(@StringRes final int textId) {
+        alert.setText(alert.getContext().getString(textId));
+
+        return this;
+    }
+
+    /**
+     * Sets text.
+     *
+     * @param text the text
+     * @return the text
+     */
+    public AlerterLite setText(final CharSequence text) {
+        alert.setText(text);
+
+        return this;
+    }
+
+    /**
+     * Sets background color int.
+     *
+     * @param colorInt the color int
+     * @return the background color int
+     */
+    public AlerterLite setBackgroundColorInt(@ColorInt final int colorInt) {
+        alert.setAlertBackgroundColor(colorInt);
+
+        return this;
+    }
+
+    /**
+     * Sets background color res.
+     *
+     * @param colorResId the color res id
+     * @return the background color res
+     */
+    public AlerterLite setBackgroundColorRes(@ColorRes final int colorResId) {
+        alert.setAlertBackgroundColor(ContextCompat.getColor(alert.getContext(), colorResId));
+
+        return this;
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param iconId the icon id
+     * @return the icon
+     */
+    public AlerterLite setIcon(@DrawableRes final int iconId) {
+        alert.setIcon(iconId);
+
+        return this;
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param bitmap the bitmap
+     * @return the icon
+     */
+    public AlerterLite setIcon(@NonNull final Bitmap bitmap) {
+        alert.setIcon(bitmap);
+
+        return this;
+    }
+
+    /**
+     * Sets icon.
+     *
+     * @param drawable the drawable
+     * @return the icon
+     */
+    public AlerterLite setIcon(@NonNull final Drawable drawable) {
+        alert.setIcon(drawable);
+
+        return this;
+    }
+
+    /**
+     * Hide icon alerter lite.
+     *
+     * @return the alerter lite
+     */
+    public AlerterLite hideIcon() {
+        alert.setIcon((Drawable) null);
+
+        return this;
+    }
+
+    /**
+     * Sets on click listener.
+     *
+     * @param onClickListener the on click listener
+     * @return the on click listener
+     */
+    public AlerterLite setOnClickListener(@NonNull final View.OnClickListener onClickListener) {
+        alert.setOnClickListener(onClickListener);
+
+        return this;
+    }
+
+    /**
+     * Sets duration.
+     *
+     * @param milliseconds the milliseconds
+     * @return the duration
+     */
+    public AlerterLite setDuration(final long milliseconds) {
+        alert.setDuration(milliseconds);
+
+        return this;
+    }
+
+    /**
+     * Enable infinite duration alerter lite.
+     *
+     * @param infiniteDuration the infinite duration
+     * @return the alerter lite
+     */
+    public AlerterLite enableInfiniteDuration(final boolean infiniteDuration) {
+        alert.setEnableInfiniteDuration(infiniteDuration);
+
+        return this;
+    }
+
+    /**
+     * Sets on show listener.
+     *
+     * @param listener the listener
+     * @return the on show listener
+     */
+    public AlerterLite setOnShowListener(@NonNull final OnShowAlertListener listener) {
+        alert.setOnShowListener(listener);
+
+        return this;
+    }
+
+    /**
+     * Sets on hide listener.
+     *
+     * @param listener the listener
+     * @return the on hide listener
+     */
+    public AlerterLite setOnHideListener(@NonNull final OnHideAlertListener listener) {
+        alert.setOnHideListener(listener);
+
+        return this;
+    }
+
+    /**
+     * Enable vibration alerter lite.
+     *
+     * @param enable the enable
+     * @return the alerter lite
+     */
+    public AlerterLite enableVibration(final boolean enable) {
+        alert.setVibrationEnabled(enable);
+
+        return this;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tapadoo.alerter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+/**
+ * Routes Alerter's messages to the configured {@link AlerterLogger}.
+ * <p>
+ * Callers pass constant messages, an optional argument and the raw Throwable; nothing is formatted
+ * until a message has passed the level check, and then only by the logger itself or, for an
+ * argument, appended to the message here.
+ */
+final class AlerterLog {
+
+    /**
+     * Logs to Logcat, the default
+     */
+    static final AlerterLogger LOGCAT = new AlerterLogger() {
+        @Override
+        public void log(final int priority, @NonNull final String tag, @NonNull final String message, @Nullable final Throwable throwable) {
+            Log.println(priority, tag, throwable != null ? message + '\n' + Log.getStackTraceString(throwable) : message);
+        }
+    };
+
+    private static volatile AlerterLogger logger = LOGCAT;
+
+    private static volatile int level = Log.ERROR;
+
+    private AlerterLog() {
+        //Utility classes should not be instantiated
+    }
+
+    static void setLogger(@Nullable final AlerterLogger newLogger) {
+        logger = newLogger;
+    }
+
+    static void setLevel(final int newLevel) {
+        level = newLevel;
+    }
+
+    static void e(@NonNull final String tag, @NonNull final String message) {
+        log(Log.ERROR, tag, message, null);
+    }
+
+    static void e(@NonNull final String tag, @NonNull final String message, @NonNull final Throwable throwable) {
+        log(Log.ERROR, tag, message, throwable);
+    }
+
+    static void e(@NonNull final String tag, @NonNull final String message, @Nullable final Object arg, @NonNull final Throwable throwable) {
+        final AlerterLogger current = logger;
+        if (current != null && Log.ERROR >= level) {
+            current.log(Log.ERROR, tag, message + arg, throwable);
+        }
+    }
+
+    private static void log(final int priority, final String tag, final String message, final Throwable throwable) {
+        final AlerterLogger current = logger;
+        if (current != null && priority >= level) {
+            current.log(priority, tag, message, throwable);
+        }
+    }
+}
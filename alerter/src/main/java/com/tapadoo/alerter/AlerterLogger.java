@@ -0,0 +1,22 @@
+package com.tapadoo.alerter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Alerter Logger
+ * <p>
+ * Receives the messages logged by Alerter, see {@link Alerter#setLogger(AlerterLogger)}.
+ * Only messages at or above {@link Alerter#setLogLevel(int)} are passed on.
+ */
+public interface AlerterLogger {
+    /**
+     * Called for each message which passed the log level
+     *
+     * @param priority  the priority, one of the {@link android.util.Log} constants
+     * @param tag       the tag
+     * @param message   the message
+     * @param throwable the throwable being reported, if any
+     */
+    void log(int priority, @NonNull String tag, @NonNull String message, @Nullable Throwable throwable);
+}
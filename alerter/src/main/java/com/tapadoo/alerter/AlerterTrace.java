@@ -0,0 +1,58 @@
+package com.tapadoo.alerter;
+
+import android.support.annotation.NonNull;
+import android.support.v4.os.TraceCompat;
+
+/**
+ * Named systrace / Perfetto sections around the stages of an Alert's life.
+ * <p>
+ * Off by default, see {@link Alerter#setTraceEnabled(boolean)}. Callers keep the result of
+ * {@link #begin(String)} and pass it to {@link #end(boolean)}, so that sections stay balanced
+ * even if tracing is switched while one is open.
+ */
+final class AlerterTrace {
+
+    static final String BUILD = "Alerter:build";
+    static final String ATTACH = "Alerter:attach";
+    static final String ENTER_START = "Alerter:enterStart";
+    static final String ENTER_END = "Alerter:enterEnd";
+    static final String SCHEDULE_HIDE = "Alerter:startHideAnimation";
+    static final String HIDE = "Alerter:hide";
+    static final String REMOVE = "Alerter:removeFromParent";
+
+    private static volatile boolean enabled;
+
+    private AlerterTrace() {
+        //Utility classes should not be instantiated
+    }
+
+    static void setEnabled(final boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Opens a section, if tracing is enabled.
+     *
+     * @param name the section name
+     * @return whether a section was opened
+     */
+    static boolean begin(@NonNull final String name) {
+        if (!enabled) {
+            return false;
+        }
+
+        TraceCompat.beginSection(name);
+        return true;
+    }
+
+    /**
+     * Closes the section opened by {@link #begin(String)}.
+     *
+     * @param begun the result of begin
+     */
+    static void end(final boolean begun) {
+        if (begun) {
+            TraceCompat.endSection();
+        }
+    }
+}
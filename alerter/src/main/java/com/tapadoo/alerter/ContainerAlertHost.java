@@ -0,0 +1,67 @@
+package com.tapadoo.alerter;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Shows Alerts in a caller supplied ViewGroup.
+ */
+final class ContainerAlertHost extends AlertHost {
+
+    //Weak, the registry must not keep the container's Activity alive
+    private final WeakReference<ViewGroup> containerWeakReference;
+
+    ContainerAlertHost(@NonNull final ViewGroup container) {
+        containerWeakReference = new WeakReference<>(container);
+    }
+
+    @Nullable
+    @Override
+    public Activity getActivity() {
+        final ViewGroup container = containerWeakReference.get();
+        Context context = container != null ? container.getContext() : null;
+
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+
+        return null;
+    }
+
+    @Override
+    protected boolean onAddAlert(@NonNull final View alert) {
+        final ViewGroup container = containerWeakReference.get();
+        if (container == null) {
+            return false;
+        }
+
+        container.addView(alert);
+        return true;
+    }
+
+    @Override
+    protected void onRemoveAlert(@NonNull final View alert) {
+        removeFromParent(alert);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof ContainerAlertHost
+                && ((ContainerAlertHost) other).containerWeakReference.get() == containerWeakReference.get();
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(containerWeakReference.get());
+    }
+}
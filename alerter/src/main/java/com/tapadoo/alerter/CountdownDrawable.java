@@ -0,0 +1,83 @@
+package com.tapadoo.alerter;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+
+import com.tapadoo.android.R;
+
+/**
+ * Progress bar fill counting down an Alert's remaining duration.
+ * <p>
+ * The fill is worked out from the dismissal task at draw time, and the drawable keeps asking for
+ * the next frame for as long as the task's clock runs. Nothing is allocated per frame, and there
+ * is no animator or listener to cancel: a paused, cancelled or finished task simply stops it.
+ */
+final class CountdownDrawable extends android.graphics.drawable.Drawable {
+
+    //Alpha of the unfilled track, relative to the fill
+    private static final int TRACK_ALPHA = 0x4D;
+
+    private final Paint fillPaint = new Paint();
+    private final Paint trackPaint = new Paint();
+
+    private AlertScheduler.Task task;
+    private long duration;
+
+    CountdownDrawable(@NonNull final Context context) {
+        final int color = ContextCompat.getColor(context, R.color.alert_default_icon_color);
+        fillPaint.setColor(color);
+        trackPaint.setColor(color);
+        trackPaint.setAlpha(TRACK_ALPHA);
+    }
+
+    /**
+     * Starts counting down a dismissal task.
+     *
+     * @param task     the task
+     * @param duration the task's full duration, in milliseconds
+     */
+    void start(@NonNull final AlertScheduler.Task task, final long duration) {
+        this.task = task;
+        this.duration = Math.max(1, duration);
+        invalidateSelf();
+    }
+
+    @Override
+    public void draw(@NonNull final Canvas canvas) {
+        final Rect bounds = getBounds();
+        final float fraction = task != null ? 1f - Math.min(1f, task.getRemaining() / (float) duration) : 0f;
+
+        canvas.drawRect(bounds, trackPaint);
+        canvas.drawRect(bounds.left, bounds.top, bounds.left + bounds.width() * fraction, bounds.bottom, fillPaint);
+
+        if (task != null && task.isRunning()) {
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public void setAlpha(final int alpha) {
+        fillPaint.setAlpha(alpha);
+        trackPaint.setAlpha(alpha * TRACK_ALPHA / 0xFF);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable final ColorFilter colorFilter) {
+        fillPaint.setColorFilter(colorFilter);
+        trackPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tapadoo.alerter;
+
+import android.app.Activity;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Shows Alerts in the Activity Window's DecorView.
+ */
+final class DecorAlertHost extends AlertHost {
+
+    private final WeakReference<Activity> activityWeakReference;
+
+    DecorAlertHost(@NonNull final Activity activity) {
+        activityWeakReference = new WeakReference<>(activity);
+    }
+
+    @Nullable
+    @Override
+    public Activity getActivity() {
+        return activityWeakReference.get();
+    }
+
+    @Override
+    protected boolean onAddAlert(@NonNull final View alert) {
+        final Activity activity = activityWeakReference.get();
+        final ViewGroup decorView = activity != null ? (ViewGroup) activity.getWindow().getDecorView() : null;
+        if (decorView == null) {
+            return false;
+        }
+
+        decorView.addView(alert);
+        return true;
+    }
+
+    @Override
+    protected void onRemoveAlert(@NonNull final View alert) {
+        removeFromParent(alert);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof DecorAlertHost && ((DecorAlertHost) other).getActivity() == getActivity();
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(getActivity());
+    }
+}
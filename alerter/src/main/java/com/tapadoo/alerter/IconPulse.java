@@ -0,0 +1,141 @@
+package com.tapadoo.alerter;
+
+import android.animation.Animator;
+import android.animation.AnimatorInflater;
+import android.animation.AnimatorSet;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.AnimationSet;
+import android.view.animation.AnimationUtils;
+
+import com.tapadoo.android.R;
+
+/**
+ * Pulses an Alert's icon.
+ * <p>
+ * From Honeycomb the pulse animates the icon's scale properties, which only updates its render
+ * node: neither the icon nor its parent are redrawn for it. The animator spec is inflated once
+ * and cloned for every Alert. Older platforms fall back to the legacy view Animation.
+ */
+final class IconPulse {
+
+    private static Animator spec;
+
+    private final View target;
+    private final int cycles;
+
+    private Animator animator;
+    private boolean suspended;
+
+    /**
+     * Instantiates a new Icon pulse.
+     *
+     * @param target the view to pulse
+     * @param cycles the number of pulses, or zero or less to pulse until stopped
+     */
+    IconPulse(@NonNull final View target, final int cycles) {
+        this.target = target;
+        this.cycles = cycles;
+    }
+
+    /**
+     * Inflates the shared spec ahead of time.
+     *
+     * @param context the context
+     */
+    static void warm(@NonNull final Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+            getSpec(context);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static synchronized Animator getSpec(final Context context) {
+        if (spec == null) {
+            spec = AnimatorInflater.loadAnimator(context.getApplicationContext(), R.animator.alerter_pulse);
+        }
+
+        return spec;
+    }
+
+    /**
+     * Starts pulsing.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    void start() {
+        stop();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+            animator = getSpec(target.getContext()).clone();
+            setRepeatCount(animator);
+            animator.setTarget(target);
+            animator.start();
+        } else {
+            final Animation animation = AnimationUtils.loadAnimation(target.getContext(), R.anim.alerter_pulse);
+            if (cycles > 0 && animation instanceof AnimationSet) {
+                for (final Animation child : ((AnimationSet) animation).getAnimations()) {
+                    child.setRepeatCount(cycles * 2 - 1);
+                }
+            }
+            target.startAnimation(animation);
+        }
+    }
+
+    /**
+     * Stops pulsing and restores the icon's scale.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    void stop() {
+        suspended = false;
+
+        if (animator != null) {
+            animator.cancel();
+            animator = null;
+
+            target.setScaleX(1f);
+            target.setScaleY(1f);
+        }
+
+        target.clearAnimation();
+    }
+
+    /**
+     * Holds the pulse while the window isn't visible, so that it doesn't keep producing frames.
+     *
+     * @param visible whether the window is visible
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    void onWindowVisibilityChanged(final boolean visible) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            if (animator != null) {
+                if (visible) {
+                    animator.resume();
+                } else {
+                    animator.pause();
+                }
+            }
+        } else if (!visible && animator != null && animator.isRunning()) {
+            stop();
+            suspended = true;
+        } else if (visible && suspended) {
+            start();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void setRepeatCount(final Animator animator) {
+        if (animator instanceof AnimatorSet) {
+            for (final Animator child : ((AnimatorSet) animator).getChildAnimations()) {
+                setRepeatCount(child);
+            }
+        } else if (animator instanceof ValueAnimator) {
+            //A pulse is there and back again
+            ((ValueAnimator) animator).setRepeatCount(cycles > 0 ? cycles * 2 - 1 : ValueAnimator.INFINITE);
+        }
+    }
+}
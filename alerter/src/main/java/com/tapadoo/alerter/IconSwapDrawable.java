@@ -0,0 +1,167 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.content.res.ColorStateList;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Holds an icon's place at a fixed size while its image is swapped, e.g. from a placeholder to
+ * a bitmap decoded in the background.
+ * <p>
+ * An ImageView lays itself out again whenever its drawable's intrinsic size changes. This
+ * drawable always reports the icon size and draws its current image centered inside it, so a
+ * swap only redraws the icon. Color filters, tints and alpha set by the ImageView carry over to
+ * every image.
+ */
+final class IconSwapDrawable extends Drawable implements Drawable.Callback {
+
+    private final int size;
+
+    private Drawable current;
+
+    private ColorFilter colorFilter;
+    private ColorStateList tint;
+    private PorterDuff.Mode tintMode;
+    private int alpha = 0xFF;
+
+    IconSwapDrawable(@Nullable final Drawable placeholder, final int size) {
+        this.size = size;
+        setDrawable(placeholder);
+    }
+
+    /**
+     * Swaps the image.
+     *
+     * @param drawable the drawable, or null to draw nothing
+     */
+    void setDrawable(@Nullable final Drawable drawable) {
+        if (current != null) {
+            current.setCallback(null);
+        }
+
+        current = drawable != null ? drawable.mutate() : null;
+
+        if (current != null) {
+            current.setCallback(this);
+            current.setAlpha(alpha);
+            if (colorFilter != null) {
+                current.setColorFilter(colorFilter);
+            }
+            applyTint(current);
+            fitBounds(getBounds());
+        }
+
+        invalidateSelf();
+    }
+
+    @Override
+    public void draw(@NonNull final Canvas canvas) {
+        if (current != null) {
+            current.draw(canvas);
+        }
+    }
+
+    @Override
+    protected void onBoundsChange(final Rect bounds) {
+        fitBounds(bounds);
+    }
+
+    //Center inside the bounds, as the ImageView would
+    private void fitBounds(final Rect bounds) {
+        if (current == null) {
+            return;
+        }
+
+        final int width = current.getIntrinsicWidth();
+        final int height = current.getIntrinsicHeight();
+        if (width <= 0 || height <= 0) {
+            current.setBounds(bounds);
+            return;
+        }
+
+        final float scale = Math.min(1f, Math.min(bounds.width() / (float) width, bounds.height() / (float) height));
+        final int scaledWidth = Math.round(width * scale);
+        final int scaledHeight = Math.round(height * scale);
+        final int left = bounds.left + (bounds.width() - scaledWidth) / 2;
+        final int top = bounds.top + (bounds.height() - scaledHeight) / 2;
+        current.setBounds(left, top, left + scaledWidth, top + scaledHeight);
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return size;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return size;
+    }
+
+    @Override
+    public void setAlpha(final int alpha) {
+        this.alpha = alpha;
+        if (current != null) {
+            current.setAlpha(alpha);
+        }
+    }
+
+    @Override
+    public void setColorFilter(@Nullable final ColorFilter colorFilter) {
+        this.colorFilter = colorFilter;
+        if (current != null) {
+            current.setColorFilter(colorFilter);
+        }
+    }
+
+    @Override
+    public void setTintList(@Nullable final ColorStateList tint) {
+        this.tint = tint;
+        applyTint(current);
+    }
+
+    @Override
+    public void setTintMode(@Nullable final PorterDuff.Mode tintMode) {
+        this.tintMode = tintMode;
+        applyTint(current);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void applyTint(@Nullable final Drawable drawable) {
+        if (drawable == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+
+        drawable.setTintList(tint);
+        if (tintMode != null) {
+            drawable.setTintMode(tintMode);
+        }
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull final Drawable who) {
+        invalidateSelf();
+    }
+
+    @Override
+    public void scheduleDrawable(@NonNull final Drawable who, @NonNull final Runnable what, final long when) {
+        scheduleSelf(what, when);
+    }
+
+    @Override
+    public void unscheduleDrawable(@NonNull final Drawable who, @NonNull final Runnable what) {
+        unscheduleSelf(what);
+    }
+}
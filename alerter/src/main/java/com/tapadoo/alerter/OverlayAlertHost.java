@@ -0,0 +1,88 @@
+package com.tapadoo.alerter;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Shows Alerts in the DecorView's overlay.
+ * <p>
+ * Overlay children are drawn by the DecorView but are not part of its hierarchy, so adding one
+ * never lays out the window. They are not measured or laid out by anyone either, so the host
+ * does it once when the Alert is added, the same way the DecorView would.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+final class OverlayAlertHost extends AlertHost {
+
+    private final WeakReference<Activity> activityWeakReference;
+
+    OverlayAlertHost(@NonNull final Activity activity) {
+        activityWeakReference = new WeakReference<>(activity);
+    }
+
+    @Nullable
+    @Override
+    public Activity getActivity() {
+        return activityWeakReference.get();
+    }
+
+    @Override
+    protected boolean onAddAlert(@NonNull final View alert) {
+        final Activity activity = activityWeakReference.get();
+        final ViewGroup decorView = activity != null ? (ViewGroup) activity.getWindow().getDecorView() : null;
+        if (decorView == null) {
+            return false;
+        }
+
+        layout(alert, decorView.getWidth(), decorView.getHeight());
+        decorView.getOverlay().add(alert);
+        return true;
+    }
+
+    @Override
+    protected void onRemoveAlert(@NonNull final View alert) {
+        final Activity activity = activityWeakReference.get();
+        if (activity != null) {
+            ((ViewGroup) activity.getWindow().getDecorView()).getOverlay().remove(alert);
+        }
+    }
+
+    private static void layout(final View alert, final int width, final int height) {
+        int left = 0;
+        int top = 0;
+        int horizontalMargins = 0;
+        int verticalMargins = 0;
+
+        final ViewGroup.LayoutParams params = alert.getLayoutParams();
+        if (params instanceof ViewGroup.MarginLayoutParams) {
+            final ViewGroup.MarginLayoutParams marginParams = (ViewGroup.MarginLayoutParams) params;
+            left = marginParams.leftMargin;
+            top = marginParams.topMargin;
+            horizontalMargins = marginParams.leftMargin + marginParams.rightMargin;
+            verticalMargins = marginParams.topMargin + marginParams.bottomMargin;
+        }
+
+        alert.measure(
+                ViewGroup.getChildMeasureSpec(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY), horizontalMargins,
+                        params != null ? params.width : ViewGroup.LayoutParams.MATCH_PARENT),
+                ViewGroup.getChildMeasureSpec(View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY), verticalMargins,
+                        params != null ? params.height : ViewGroup.LayoutParams.WRAP_CONTENT));
+        alert.layout(left, top, left + alert.getMeasuredWidth(), top + alert.getMeasuredHeight());
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof OverlayAlertHost && ((OverlayAlertHost) other).getActivity() == getActivity();
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(getActivity());
+    }
+}
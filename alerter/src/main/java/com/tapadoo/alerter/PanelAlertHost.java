@@ -0,0 +1,99 @@
+package com.tapadoo.alerter;
+
+import android.app.Activity;
+import android.graphics.PixelFormat;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowManager;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shows Alerts in a panel window attached to the Activity's window.
+ * <p>
+ * The panel wraps the Alert's height and isn't focusable, so touches outside of it still reach
+ * the Activity, and the Activity's own views are never laid out for it. Panels still showing when
+ * the Activity is destroyed are removed before its window goes, so that they don't leak.
+ */
+final class PanelAlertHost extends AlertHost {
+
+    private final WeakReference<Activity> activityWeakReference;
+
+    //The WindowManager replaces the Alert's LayoutParams, they are put back once it is removed
+    private final Map<View, ViewGroup.LayoutParams> originalParams = new WeakHashMap<>();
+
+    PanelAlertHost(@NonNull final Activity activity) {
+        activityWeakReference = new WeakReference<>(activity);
+    }
+
+    @Nullable
+    @Override
+    public Activity getActivity() {
+        return activityWeakReference.get();
+    }
+
+    @Override
+    protected boolean onAddAlert(@NonNull final View alert) {
+        final Activity activity = activityWeakReference.get();
+        if (activity == null || activity.isFinishing()) {
+            return false;
+        }
+
+        //Panels need the parent window's token, which only exists once it has been attached
+        final View decorView = activity.getWindow().getDecorView();
+        if (decorView.getWindowToken() == null) {
+            return false;
+        }
+
+        final WindowManager.LayoutParams params = new WindowManager.LayoutParams(
+                WindowManager.LayoutParams.MATCH_PARENT,
+                WindowManager.LayoutParams.WRAP_CONTENT,
+                WindowManager.LayoutParams.TYPE_APPLICATION_PANEL,
+                WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE
+                        | WindowManager.LayoutParams.FLAG_NOT_TOUCH_MODAL
+                        | WindowManager.LayoutParams.FLAG_LAYOUT_IN_SCREEN
+                        | WindowManager.LayoutParams.FLAG_LAYOUT_NO_LIMITS,
+                PixelFormat.TRANSLUCENT);
+        params.gravity = Gravity.TOP;
+        params.token = decorView.getWindowToken();
+
+        //Keep the negative top margin which hides the enter animation's overshoot
+        if (alert.getLayoutParams() instanceof ViewGroup.MarginLayoutParams) {
+            params.y = ((ViewGroup.MarginLayoutParams) alert.getLayoutParams()).topMargin;
+        }
+
+        originalParams.put(alert, alert.getLayoutParams());
+        activity.getWindowManager().addView(alert, params);
+        return true;
+    }
+
+    @Override
+    protected void onRemoveAlert(@NonNull final View alert) {
+        final Activity activity = activityWeakReference.get();
+        //No parent once the panel was closed along with the Activity's window
+        if (activity != null && alert.getParent() != null) {
+            //Immediately, so that the Alert has no parent by the time it is recycled
+            activity.getWindowManager().removeViewImmediate(alert);
+        }
+
+        final ViewGroup.LayoutParams params = originalParams.remove(alert);
+        if (params != null) {
+            alert.setLayoutParams(params);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof PanelAlertHost && ((PanelAlertHost) other).getActivity() == getActivity();
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(getActivity());
+    }
+}
@@ -1,23 +1,30 @@
 package com.tapadoo.example;
 
-import android.graphics.Typeface;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
 import android.support.v7.widget.Toolbar;
 import android.view.View;
 import android.widget.Toast;
 
+import com.tapadoo.alerter.AlertPool;
+import com.tapadoo.alerter.AlertTypefaceCache;
 import com.tapadoo.alerter.Alerter;
 import com.tapadoo.alerter.OnHideAlertListener;
 import com.tapadoo.alerter.OnShowAlertListener;
 
 public class ExampleActivity extends AppCompatActivity implements View.OnClickListener {
 
+    private static final String TITLE_FONT = "Pacifico-Regular.ttf";
+    private static final String TEXT_FONT = "ScopeOne-Regular.ttf";
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_example);
 
+        //Load the custom fonts in the background, ahead of the first Alert using them
+        AlertTypefaceCache.preload(this, TITLE_FONT, TEXT_FONT);
+
         Toolbar toolbar = (Toolbar) findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
 
@@ -32,6 +39,10 @@ public class ExampleActivity extends AppCompatActivity implements View.OnClickLi
         findViewById(R.id.btnAlertWithProgress).setOnClickListener(this);
         findViewById(R.id.btnAlertWithCustomFont).setOnClickListener(this);
         findViewById(R.id.btnAlertSwipeToDismissEnabled).setOnClickListener(this);
+
+        //The sample never uses an Alert once it is hidden, so it can recycle them
+        AlertPool.setMaxSize(3);
+        Alerter.prewarm(this, 1);
     }
 
     @Override
@@ -176,10 +187,10 @@ public class ExampleActivity extends AppCompatActivity implements View.OnClickLi
         Alerter.create(ExampleActivity.this)
                 .setTitle("Alert Title")
                 .setTitleAppearance(R.style.AlertTextAppearance_Title)
-                .setTitleTypeface(Typeface.createFromAsset(getAssets(), "Pacifico-Regular.ttf"))
+                .setTitleTypeface(TITLE_FONT)
                 .setText("Alert text...")
                 .setTextAppearance(R.style.AlertTextAppearance_Text)
-                .setTextTypeface(Typeface.createFromAsset(getAssets(), "ScopeOne-Regular.ttf"))
+                .setTextTypeface(TEXT_FONT)
                 .show();
     }
 